@@ -0,0 +1,73 @@
+package org.example.task.tracker.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.example.task.tracker.Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Поднимает контекст приложения поверх встроенной базы данных H2, которая заменяет PostgreSQL
+ * в бенчмарках. Запросы, использующие возможности PostgreSQL, которых нет в H2 (COLLATE "C",
+ * websearch_to_tsquery), измеряются через {@link #startOnPostgres(String...)} на отдельной базе
+ * PostgreSQL, адрес которой задается переменной окружения BENCHMARK_POSTGRES_URL.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return start(WebApplicationType.NONE);
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... additionalArgs) {
+
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.sql.init.mode=never",
+                "--logging.level.root=WARN"
+        ));
+        args.addAll(Arrays.asList(additionalArgs));
+
+        return new SpringApplicationBuilder(Application.class)
+                .web(webApplicationType)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Схема создается и дополняется индексами из schema.sql, данные между запусками сохраняются,
+     * поэтому большие наборы данных заполняются один раз.
+     */
+    static ConfigurableApplicationContext startOnPostgres(String... additionalArgs) {
+
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + getEnv(
+                        "BENCHMARK_POSTGRES_URL",
+                        "jdbc:postgresql://localhost:5432/task-tracker-benchmark?reWriteBatchedInserts=true"
+                ),
+                "--spring.datasource.username=" + getEnv("BENCHMARK_POSTGRES_USERNAME", "postgres"),
+                "--spring.datasource.password=" + getEnv("BENCHMARK_POSTGRES_PASSWORD", "root"),
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--spring.sql.init.mode=always",
+                "--logging.level.root=WARN"
+        ));
+        args.addAll(Arrays.asList(additionalArgs));
+
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    private static String getEnv(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+
+}
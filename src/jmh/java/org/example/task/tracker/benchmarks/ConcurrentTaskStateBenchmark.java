@@ -0,0 +1,131 @@
+package org.example.task.tracker.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.example.task.tracker.api.controllers.ProjectController;
+import org.example.task.tracker.api.controllers.TaskStateController;
+import org.example.task.tracker.api.dto.TaskStateDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.ConcurrencyFailureException;
+
+/**
+ * Пропускная способность изменений доски под конкуренцией: несколько потоков одновременно добавляют колонки
+ * в одну доску, перемещают одну и ту же колонку и переименовывают ее. Конфликты версий повторяются
+ * автоматически; запросы, исчерпавшие все попытки, не прерывают прогон. Кроме общей пропускной способности
+ * JMH выводит вспомогательные счетчики: succeeded - число успешных изменений в секунду,
+ * exhaustedRetries - число изменений в секунду, отклоненных после всех повторов. Согласованность доски
+ * при таких изменениях (уникальные ordinal и имена колонок) проверяет тест TaskStateServiceConcurrencyTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ConcurrentTaskStateBenchmark {
+
+    ConfigurableApplicationContext context;
+
+    TaskStateController taskStateController;
+
+    Long projectId;
+
+    Long firstTaskStateId;
+
+    Long changedTaskStateId;
+
+    AtomicLong counter = new AtomicLong();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+
+        public long succeeded;
+
+        public long exhaustedRetries;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            succeeded = 0;
+            exhaustedRetries = 0;
+        }
+
+        TaskStateDto record(TaskStateDto taskState) {
+            succeeded++;
+            return taskState;
+        }
+
+    }
+
+    @Setup
+    public void setUp() {
+
+        context = BenchmarkApplication.start();
+        taskStateController = context.getBean(TaskStateController.class);
+
+        projectId = context.getBean(ProjectController.class).createProject("concurrent-benchmark").getId();
+        firstTaskStateId = taskStateController.createTaskState(projectId, "first").getId();
+        changedTaskStateId = taskStateController.createTaskState(projectId, "changed").getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskStateDto appendTaskState(Outcomes outcomes) {
+        try {
+            return outcomes.record(
+                    taskStateController.createTaskState(projectId, "column-" + counter.incrementAndGet())
+            );
+        } catch (ConcurrencyFailureException exception) {
+            outcomes.exhaustedRetries++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    public TaskStateDto moveTaskState(Outcomes outcomes) {
+        try {
+            Optional<Long> optionalLeftTaskStateId = counter.incrementAndGet() % 2 == 0
+                    ? Optional.of(firstTaskStateId)
+                    : Optional.empty();
+            return outcomes.record(
+                    taskStateController.changeTaskStatePosition(changedTaskStateId, optionalLeftTaskStateId)
+            );
+        } catch (ConcurrencyFailureException exception) {
+            outcomes.exhaustedRetries++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    public TaskStateDto renameTaskState(Outcomes outcomes) {
+        try {
+            return outcomes.record(
+                    taskStateController.updateTaskState(changedTaskStateId, "changed-" + counter.incrementAndGet())
+            );
+        } catch (ConcurrencyFailureException exception) {
+            outcomes.exhaustedRetries++;
+            return null;
+        }
+    }
+
+}
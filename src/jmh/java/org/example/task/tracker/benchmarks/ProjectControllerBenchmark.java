@@ -0,0 +1,73 @@
+package org.example.task.tracker.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.example.task.tracker.api.controllers.ProjectController;
+import org.example.task.tracker.api.dto.ProjectDto;
+import org.example.task.tracker.store.entities.ProjectEntity;
+import org.example.task.tracker.store.repositories.ProjectRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Выборка проектов через ProjectController: полный список и первая страница keyset-пагинации.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectControllerBenchmark {
+
+    @Param({"1000", "10000"})
+    public int projects;
+
+    ConfigurableApplicationContext context;
+
+    ProjectController projectController;
+
+    @Setup
+    public void setUp() {
+
+        context = BenchmarkApplication.start();
+        projectController = context.getBean(ProjectController.class);
+
+        List<ProjectEntity> entities = new ArrayList<>(projects);
+
+        for (int i = 0; i < projects; i++) {
+            entities.add(ProjectEntity.builder().name("project-" + i).build());
+        }
+
+        context.getBean(ProjectRepository.class).saveAll(entities);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProjectDto> fetchAllProjects() {
+        return projectController.fetchProjects(Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    @Benchmark
+    public List<ProjectDto> fetchProjectsPage() {
+        return projectController.fetchProjects(Optional.empty(), Optional.of(0L), Optional.of(100));
+    }
+
+}
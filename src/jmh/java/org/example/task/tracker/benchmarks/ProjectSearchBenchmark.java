@@ -0,0 +1,91 @@
+package org.example.task.tracker.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.example.task.tracker.api.controllers.ProjectController;
+import org.example.task.tracker.api.dto.ProjectDto;
+import org.example.task.tracker.services.ProjectService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Задержка автодополнения по префиксу имени проекта (ProjectService.searchProjects) на 1M проектов.
+ * Запрос использует lower(name) COLLATE "C" и функциональный индекс из schema.sql, которых нет в H2,
+ * поэтому бенчмарк выполняется на PostgreSQL (см. {@link BenchmarkApplication#startOnPostgres(String...)}).
+ * Режим SampleTime дает распределение задержек, p0.99 в отчете - это p99 автодополнения.
+ * Имена проектов - md5 номера, префиксы длиной от 1 до 4 символов имитируют ввод по одному символу.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(4)
+@Fork(1)
+public class ProjectSearchBenchmark {
+
+    private static final String HEX_DIGITS = "0123456789abcdef";
+
+    private static final int MAX_PREFIX_LENGTH = 4;
+
+    @Param({"1000000"})
+    public int projects;
+
+    ConfigurableApplicationContext context;
+
+    ProjectService projectService;
+
+    @Setup
+    public void setUp() {
+
+        context = BenchmarkApplication.startOnPostgres();
+        projectService = context.getBean(ProjectService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Integer existingProjects = jdbcTemplate.queryForObject("SELECT count(*) FROM project", Integer.class);
+
+        if (existingProjects != null && existingProjects < projects) {
+            jdbcTemplate.update(
+                    "INSERT INTO project (id, version, name, created_at, updated_at, tasks_count) "
+                            + "SELECT nextval('project_entity_seq'), 0, md5(i::text) || '-' || i, now(), now(), 0 "
+                            + "FROM generate_series(?, ?) i",
+                    existingProjects + 1, projects
+            );
+            jdbcTemplate.execute("ANALYZE project");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProjectDto> searchProjects() {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int prefixLength = random.nextInt(1, MAX_PREFIX_LENGTH + 1);
+
+        StringBuilder prefix = new StringBuilder(prefixLength);
+        for (int i = 0; i < prefixLength; i++) {
+            prefix.append(HEX_DIGITS.charAt(random.nextInt(HEX_DIGITS.length())));
+        }
+
+        return projectService.searchProjects(prefix.toString(), ProjectController.DEFAULT_SEARCH_LIMIT);
+    }
+
+}
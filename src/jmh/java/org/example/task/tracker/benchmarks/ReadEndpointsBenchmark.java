@@ -0,0 +1,170 @@
+package org.example.task.tracker.benchmarks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.example.task.tracker.api.controllers.ProjectController;
+import org.example.task.tracker.api.controllers.TaskController;
+import org.example.task.tracker.api.controllers.TaskStateController;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Пропускная способность эндпоинтов чтения (страница проектов и страница задач колонки) по HTTP. Пул соединений
+ * намеренно меньше числа клиентов, поэтому пропускная способность ограничена тем, как долго запрос
+ * удерживает соединение: соединение должно освобождаться до сериализации ответа.
+ * <p>
+ * Время удержания соединения берется из метрики hikaricp.connections.usage всех пулов и выводится JMH
+ * вспомогательными счетчиками: connectionHoldMillis - среднее время удержания соединения за итерацию,
+ * connectionCheckouts - число выдач соединения за итерацию.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class ReadEndpointsBenchmark {
+
+    private static final int PROJECTS = 1000;
+
+    ConfigurableApplicationContext context;
+
+    HttpClient httpClient;
+
+    HttpRequest fetchProjectsRequest;
+
+    HttpRequest getTasksRequest;
+
+    /**
+     * Счетчики итерации заполняет только первый поток: JMH суммирует счетчики типа EVENTS по потокам.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ConnectionUsage {
+
+        public double connectionHoldMillis;
+
+        public long connectionCheckouts;
+
+        long startCount;
+
+        double startTotalMillis;
+
+        @Setup(Level.Iteration)
+        public void start(ReadEndpointsBenchmark benchmark, ThreadParams threadParams) {
+
+            connectionHoldMillis = 0;
+            connectionCheckouts = 0;
+
+            if (threadParams.getThreadIndex() == 0) {
+                startCount = benchmark.connectionCheckouts();
+                startTotalMillis = benchmark.connectionHoldTotalMillis();
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop(ReadEndpointsBenchmark benchmark, ThreadParams threadParams) {
+
+            if (threadParams.getThreadIndex() != 0) {
+                return;
+            }
+
+            connectionCheckouts = benchmark.connectionCheckouts() - startCount;
+
+            if (connectionCheckouts > 0) {
+                connectionHoldMillis = (benchmark.connectionHoldTotalMillis() - startTotalMillis) / connectionCheckouts;
+            }
+        }
+
+    }
+
+    @Setup
+    public void setUp() {
+
+        context = BenchmarkApplication.start(
+                WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--spring.datasource.hikari.maximum-pool-size=4"
+        );
+
+        ProjectController projectController = context.getBean(ProjectController.class);
+        TaskStateController taskStateController = context.getBean(TaskStateController.class);
+
+        for (int i = 0; i < PROJECTS; i++) {
+            projectController.createProject("project-" + i);
+        }
+
+        Long projectId = projectController.createProject("board").getId();
+        Long taskStateId = taskStateController.createTaskState(projectId, "column").getId();
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        httpClient = HttpClient.newHttpClient();
+        fetchProjectsRequest = HttpRequest
+                .newBuilder(URI.create(baseUrl + ProjectController.FETCH_PROJECT + "?limit=100"))
+                .GET()
+                .build();
+        getTasksRequest = HttpRequest
+                .newBuilder(URI.create(
+                        baseUrl + TaskController.GET_TASKS.replace("{task_state_id}", taskStateId.toString())
+                ))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    long connectionCheckouts() {
+        return connectionUsageTimers().stream().mapToLong(Timer::count).sum();
+    }
+
+    double connectionHoldTotalMillis() {
+        return connectionUsageTimers().stream().mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum();
+    }
+
+    private Collection<Timer> connectionUsageTimers() {
+        return context.getBean(MeterRegistry.class).find("hikaricp.connections.usage").timers();
+    }
+
+    @Benchmark
+    public int fetchProjectsPage(ConnectionUsage connectionUsage) throws IOException, InterruptedException {
+        return httpClient
+                .send(fetchProjectsRequest, HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    @Benchmark
+    public int getTasksPage(ConnectionUsage connectionUsage) throws IOException, InterruptedException {
+        return httpClient
+                .send(getTasksRequest, HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+}
@@ -0,0 +1,93 @@
+package org.example.task.tracker.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import org.example.task.tracker.api.controllers.ProjectController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Нагрузочное сравнение обработки запросов на потоках платформы и на виртуальных потоках. Приложение
+ * запускается со встроенным Tomcat, пул потоков которого намеренно меньше числа клиентов, а клиенты
+ * параллельно запрашивают страницу проектов по HTTP. Режим SampleTime дает распределение задержек
+ * (включая p0.99) и пропускную способность в результатах JMH.
+ * <p>
+ * Вариант virtualThreads = true требует запуска на Java 21 или новее.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class RequestThreadModeBenchmark {
+
+    private static final int PROJECTS = 1000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    ConfigurableApplicationContext context;
+
+    HttpClient httpClient;
+
+    HttpRequest fetchProjectsRequest;
+
+    @Setup
+    public void setUp() {
+
+        context = BenchmarkApplication.start(
+                WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--server.tomcat.threads.max=16",
+                "--spring.datasource.hikari.maximum-pool-size=8",
+                "--task-tracker.virtual-threads.enabled=" + virtualThreads
+        );
+
+        ProjectController projectController = context.getBean(ProjectController.class);
+
+        for (int i = 0; i < PROJECTS; i++) {
+            projectController.createProject("project-" + i);
+        }
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        httpClient = HttpClient.newHttpClient();
+        fetchProjectsRequest = HttpRequest
+                .newBuilder(URI.create("http://localhost:" + port + ProjectController.FETCH_PROJECT + "?limit=100"))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int fetchProjectsPage() throws IOException, InterruptedException {
+        return httpClient
+                .send(fetchProjectsRequest, HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.example.task.tracker.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.example.task.tracker.api.controllers.helpers.BoardHelper;
+import org.example.task.tracker.api.dto.ImportTaskDto;
+import org.example.task.tracker.api.dto.TaskStateDto;
+import org.example.task.tracker.services.ProjectService;
+import org.example.task.tracker.services.TaskService;
+import org.example.task.tracker.services.TaskStateService;
+import org.example.task.tracker.store.entities.ProjectEntity;
+import org.example.task.tracker.store.entities.TaskStateEntity;
+import org.example.task.tracker.store.repositories.ProjectRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Задержка чтения с кешем второго уровня Hibernate (Ehcache) и без него. Снимки доски
+ * (BoardSnapshotService) и кеш проектов (ProjectLookupCache) в измерение не попадают:
+ * <ul>
+ *     <li>loadProjectGraph - проект, его колонки и все задачи через findById и ленивые коллекции,
+ *     которые кешируются в регионах project, project.task_states и task_state.tasks;</li>
+ *     <li>makeBoard - доска, которую отдает GET /tasks-states (колонки и первая страница задач
+ *     запросами, а не через коллекции).</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    private static final int COLUMNS = 10;
+
+    private static final int TASKS_PER_COLUMN = 50;
+
+    private static final int TASKS_LIMIT = 50;
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    ConfigurableApplicationContext context;
+
+    ProjectRepository projectRepository;
+
+    BoardHelper boardHelper;
+
+    TransactionTemplate readOnlyTransactionTemplate;
+
+    Long projectId;
+
+    @Setup
+    public void setUp() {
+
+        context = BenchmarkApplication.start(
+                WebApplicationType.NONE,
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache
+        );
+        projectRepository = context.getBean(ProjectRepository.class);
+        boardHelper = context.getBean(BoardHelper.class);
+
+        readOnlyTransactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransactionTemplate.setReadOnly(true);
+
+        TaskStateService taskStateService = context.getBean(TaskStateService.class);
+        projectId = context.getBean(ProjectService.class).createProject("board").getId();
+
+        List<ImportTaskDto> tasks = new ArrayList<>();
+        for (int column = 0; column < COLUMNS; column++) {
+            Long taskStateId = taskStateService.createTaskState(projectId, "column-" + column).getId();
+            for (int task = 0; task < TASKS_PER_COLUMN; task++) {
+                tasks.add(ImportTaskDto.builder().taskStateId(taskStateId).name("task-" + task).build());
+            }
+        }
+        context.getBean(TaskService.class).importTasks(projectId, tasks);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int loadProjectGraph() {
+        return readOnlyTransactionTemplate.execute(status -> {
+            ProjectEntity project = projectRepository.findById(projectId).orElseThrow();
+            int tasks = 0;
+            for (TaskStateEntity taskState : project.getTaskStates()) {
+                tasks += taskState.getTasks().size();
+            }
+            return tasks;
+        });
+    }
+
+    @Benchmark
+    public List<TaskStateDto> makeBoard() {
+        return boardHelper.makeBoard(projectId, TASKS_LIMIT);
+    }
+
+}
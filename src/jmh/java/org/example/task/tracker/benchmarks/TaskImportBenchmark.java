@@ -0,0 +1,87 @@
+package org.example.task.tracker.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.example.task.tracker.api.dto.ImportTaskDto;
+import org.example.task.tracker.services.ProjectService;
+import org.example.task.tracker.services.TaskService;
+import org.example.task.tracker.services.TaskStateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Скорость импорта задач (строк в секунду) через TaskService.importTasks - тот же путь, что и у
+ * POST /tasks/import для одного пакета. Параметр jdbcBatchSize сравнивает построчные вставки
+ * (1, упорядочивание вставок выключено) с пакетными (50, как в application.yml).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskImportBenchmark {
+
+    private static final int COLUMNS = 10;
+
+    private static final int ROWS = 1000;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    ConfigurableApplicationContext context;
+
+    TaskService taskService;
+
+    Long projectId;
+
+    List<ImportTaskDto> importTasks;
+
+    @Setup
+    public void setUp() {
+
+        context = BenchmarkApplication.start(
+                WebApplicationType.NONE,
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                "--spring.jpa.properties.hibernate.order_inserts=" + (jdbcBatchSize > 1)
+        );
+        taskService = context.getBean(TaskService.class);
+
+        TaskStateService taskStateService = context.getBean(TaskStateService.class);
+        projectId = context.getBean(ProjectService.class).createProject("import").getId();
+
+        importTasks = new ArrayList<>(ROWS);
+        for (int column = 0; column < COLUMNS; column++) {
+            Long taskStateId = taskStateService.createTaskState(projectId, "column-" + column).getId();
+            for (int task = 0; task < ROWS / COLUMNS; task++) {
+                importTasks.add(ImportTaskDto.builder().taskStateId(taskStateId).name("task-" + task).build());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int importTasks() {
+        return taskService.importTasks(projectId, importTasks);
+    }
+
+}
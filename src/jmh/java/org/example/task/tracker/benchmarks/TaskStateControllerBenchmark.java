@@ -0,0 +1,113 @@
+package org.example.task.tracker.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import java.util.concurrent.TimeUnit;
+import org.example.task.tracker.api.controllers.ProjectController;
+import org.example.task.tracker.api.controllers.TaskStateController;
+import org.example.task.tracker.api.dto.TaskStateDto;
+import org.example.task.tracker.store.repositories.TaskStateRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Добавление колонки в конец доски и переименование колонки через TaskStateController на досках
+ * из 5, 50, 500 и 5 000 колонок. Доска заполняется один раз перед прогоном, а после каждой итерации
+ * добавленные в ней колонки удаляются, поэтому каждая итерация начинается с доски заданного размера.
+ * Итерация - серия из {@link #OPERATIONS_PER_ITERATION} вызовов, и результат - время всей серии:
+ * одинаковое время на всех размерах доски подтверждает, что стоимость добавления не зависит
+ * от количества колонок.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = TaskStateControllerBenchmark.OPERATIONS_PER_ITERATION)
+@Measurement(iterations = 20, batchSize = TaskStateControllerBenchmark.OPERATIONS_PER_ITERATION)
+@Fork(1)
+public class TaskStateControllerBenchmark {
+
+    static final int OPERATIONS_PER_ITERATION = 20;
+
+    @Param({"5", "50", "500", "5000"})
+    public int columns;
+
+    ConfigurableApplicationContext context;
+
+    TaskStateController taskStateController;
+
+    TransactionTemplate transactionTemplate;
+
+    EntityManager entityManager;
+
+    Long projectId;
+
+    Long renamedTaskStateId;
+
+    long lastFilledOrdinal;
+
+    long counter;
+
+    @Setup
+    public void setUp() {
+
+        context = BenchmarkApplication.start();
+        taskStateController = context.getBean(TaskStateController.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = context.getBean(EntityManager.class);
+
+        projectId = context.getBean(ProjectController.class).createProject("benchmark").getId();
+        renamedTaskStateId = taskStateController.createTaskState(projectId, "renamed").getId();
+
+        for (int i = 1; i < columns; i++) {
+            taskStateController.createTaskState(projectId, "filled-" + i);
+        }
+
+        lastFilledOrdinal = context.getBean(TaskStateRepository.class)
+                .findMaxOrdinalByProjectId(projectId)
+                .orElseThrow();
+    }
+
+    /**
+     * Удаляет колонки, добавленные за итерацию, массовым запросом: Hibernate при этом очищает регион
+     * кэша второго уровня колонок.
+     */
+    @TearDown(Level.Iteration)
+    public void removeAppendedTaskStates() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("delete from TaskStateEntity ts "
+                        + "where ts.project.id = :projectId and ts.ordinal > :ordinal")
+                .setParameter("projectId", projectId)
+                .setParameter("ordinal", lastFilledOrdinal)
+                .executeUpdate()
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskStateDto appendTaskState() {
+        return taskStateController.createTaskState(projectId, "column-" + counter++);
+    }
+
+    @Benchmark
+    public TaskStateDto renameTaskState() {
+        return taskStateController.updateTaskState(renamedTaskStateId, "renamed-" + counter++);
+    }
+
+}
@@ -0,0 +1,88 @@
+package org.example.task.tracker.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.example.task.tracker.api.dto.TaskStateDto;
+import org.example.task.tracker.api.factories.TaskDtoFactory;
+import org.example.task.tracker.api.factories.TaskStateDtoFactory;
+import org.example.task.tracker.store.entities.TaskEntity;
+import org.example.task.tracker.store.entities.TaskStateEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Маппинг большой доски в DTO: колонки с соседями, первая страница задач и счетчики.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskStateDtoFactoryBenchmark {
+
+    @Param({"10", "30"})
+    public int columns;
+
+    @Param({"50", "1000"})
+    public int tasksPerColumn;
+
+    TaskStateDtoFactory taskStateDtoFactory;
+
+    List<TaskStateEntity> taskStates;
+
+    Map<Long, List<TaskEntity>> tasksPageByTaskStateId;
+
+    @Setup
+    public void setUp() {
+
+        taskStateDtoFactory = new TaskStateDtoFactory(new TaskDtoFactory());
+        taskStates = new ArrayList<>(columns);
+        tasksPageByTaskStateId = new HashMap<>();
+
+        long taskId = 0;
+
+        for (long taskStateId = 1; taskStateId <= columns; taskStateId++) {
+
+            taskStates.add(TaskStateEntity.builder()
+                    .id(taskStateId)
+                    .name("column-" + taskStateId)
+                    .ordinal(taskStateId * 1024)
+                    .createdAt(Instant.now())
+                    .tasksCount((long) tasksPerColumn)
+                    .build());
+
+            List<TaskEntity> tasks = new ArrayList<>(tasksPerColumn);
+
+            for (int i = 0; i < tasksPerColumn; i++) {
+                tasks.add(TaskEntity.builder()
+                        .id(++taskId)
+                        .name("task-" + taskId)
+                        .description("description of task " + taskId)
+                        .createdAt(Instant.now())
+                        .build());
+            }
+
+            tasksPageByTaskStateId.put(taskStateId, tasks);
+        }
+    }
+
+    @Benchmark
+    public List<TaskStateDto> makeBoard() {
+        return taskStateDtoFactory.makeTaskStateDtos(taskStates, tasksPageByTaskStateId);
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.example.task.tracker.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.example.task.tracker.api.controllers.ProjectController;
+import org.example.task.tracker.api.controllers.TaskStateController;
+import org.example.task.tracker.api.dto.BoardStatsDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Перестановка всех колонок доски одним запросом: каждый вызов разворачивает порядок колонок,
+ * поэтому позицию меняет каждая колонка.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskStateReorderBenchmark {
+
+    @Param({"100", "500"})
+    public int columns;
+
+    ConfigurableApplicationContext context;
+
+    TaskStateController taskStateController;
+
+    Long projectId;
+
+    List<Long> taskStateIds;
+
+    @Setup
+    public void setUp() {
+
+        context = BenchmarkApplication.start();
+        taskStateController = context.getBean(TaskStateController.class);
+
+        projectId = context.getBean(ProjectController.class).createProject("reorder-benchmark").getId();
+        taskStateIds = new ArrayList<>(columns);
+
+        for (int i = 0; i < columns; i++) {
+            taskStateIds.add(taskStateController.createTaskState(projectId, "column-" + i).getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BoardStatsDto reverseTaskStates() {
+        Collections.reverse(taskStateIds);
+        return taskStateController.reorderTaskStates(projectId, taskStateIds);
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.example.task.tracker.api.controllers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.task.tracker.api.controllers.helpers.ControllerHelper;
+import org.example.task.tracker.services.ProjectService;
+import org.example.task.tracker.services.feed.BoardChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Класс BoardFeedController отдает поток изменений доски проекта в формате Server-Sent Events вместо
+ * периодического опроса {@link TaskStateController#GET_TASK_STATES}. Имя события - тип изменения
+ * (task_state_created, task_state_renamed, task_state_moved, tasks_changed, project_deleted), данные -
+ * JSON с project_id и task_state_id. Событие resync означает, что часть изменений была пропущена
+ * и доску нужно загрузить заново. Комментарии ": heartbeat" поддерживают простаивающее соединение.
+ * <p>
+ * Существование проекта проверяется дважды: до подписки, чтобы ответить 404 Not Found, и после нее
+ * на основной базе данных. Удаление, зафиксированное между проверкой и подпиской, разослано до регистрации
+ * подписчика, поэтому в этом случае подписчик сразу получает project_deleted, и поток завершается.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+@RestController
+public class BoardFeedController {
+
+    ControllerHelper controllerHelper;
+
+    ProjectService projectService;
+
+    BoardChangeFeed boardChangeFeed;
+
+    public static final String STREAM_BOARD_CHANGES = "/api/projects/{project_id}/tasks-states/changes";
+
+    @GetMapping(value = STREAM_BOARD_CHANGES, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamBoardChanges(
+            @PathVariable(name = "project_id") Long projectId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        controllerHelper.getProjectDtoOrThrowException(projectId);
+
+        boardChangeFeed.subscribe(projectId, request, response);
+
+        if (!projectService.existsProjectOnPrimary(projectId)) {
+            boardChangeFeed.completeDeletedProject(projectId);
+        }
+    }
+
+}
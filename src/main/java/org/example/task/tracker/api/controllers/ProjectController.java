@@ -1,22 +1,24 @@
 package org.example.task.tracker.api.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.example.task.tracker.api.controllers.helpers.ControllerHelper;
+import org.example.task.tracker.api.controllers.helpers.ConditionalRequestHelper;
 import org.example.task.tracker.api.dto.AskDto;
 import org.example.task.tracker.api.dto.ProjectDto;
-import org.example.task.tracker.api.factories.ProjectDtoFactory;
 import org.example.task.tracker.exceptions.BadRequestExceptions;
 import org.example.task.tracker.exceptions.NotFoundExceptions;
-import org.example.task.tracker.store.entities.ProjectEntity;
-import org.example.task.tracker.store.repositories.ProjectRepository;
-import org.springframework.transaction.annotation.Transactional;
+import org.example.task.tracker.services.ProjectDeletionService;
+import org.example.task.tracker.services.ProjectService;
+import org.example.task.tracker.store.repositories.ProjectRepository.ProjectChangeVersion;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -25,32 +27,45 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Класс ProjectController представляет собой контроллер Spring MVC, который обрабатывает HTTP-запросы,
  * связанные с операциями CRUD (создание, чтение, обновление и удаление) для проектов в приложении.
  * Этот контроллер предоставляет API для управления проектами и взаимодействует с базой данных для
  * выполнения операций с проектами.
+ * <p>
+ * Контроллер не открывает транзакций: он проверяет параметры запроса и делегирует работу
+ * с базой данных {@link ProjectService}.
  *
  * @see org.springframework.web.bind.annotation.RestController
- * @see org.example.task.tracker.store.repositories.ProjectRepository
+ * @see org.example.task.tracker.services.ProjectService
  * @see org.example.task.tracker.api.dto.ProjectDto
  * @see org.example.task.tracker.exceptions.BadRequestExceptions
  * @see org.example.task.tracker.exceptions.NotFoundExceptions
  */
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
-@Transactional
 @RestController
 public class ProjectController {
 
-    ProjectRepository projectRepository;
+    ProjectService projectService;
 
-    ProjectDtoFactory projectDtoFactory;
+    ProjectDeletionService projectDeletionService;
 
-    ControllerHelper controllerHelper;
+    ObjectMapper objectMapper;
+
+    ConditionalRequestHelper conditionalRequestHelper;
+
+    public static final int DEFAULT_PAGE_LIMIT = 100;
+    public static final int MAX_PAGE_LIMIT = 1000;
+    public static final int DEFAULT_SEARCH_LIMIT = 10;
+    public static final int MAX_SEARCH_LIMIT = 100;
 
     public static final String FETCH_PROJECT = "/api/projects";
+    public static final String GET_PROJECT = "/api/projects/{project_id}";
+    public static final String STREAM_PROJECTS = "/api/projects/stream";
+    public static final String SEARCH_PROJECTS = "/api/projects/search";
     public static final String CREATE_OR_UPDATE_PROJECT = "/api/projects";
     public static final String DELETE_PROJECT = "/api/projects/{project_Id}";
     public static final String CREATE_PROJECT = "/api/projects";
@@ -58,24 +73,118 @@ public class ProjectController {
 
     /**
      * Метод для получения списка проектов с возможностью фильтрации по префиксу имени.
+     * <p>
+     * Если передан хотя бы один из параметров after_id или limit, список возвращается постранично:
+     * в ответ попадают не более limit проектов с идентификатором больше after_id, отсортированные
+     * по идентификатору. Для получения следующей страницы в after_id передается идентификатор
+     * последнего проекта предыдущей страницы.
      *
      * @param optionalPrefixName Необязательный параметр для фильтрации по префиксу имени.
+     * @param optionalAfterId    Необязательный идентификатор, после которого начинается страница.
+     * @param optionalLimit      Необязательный размер страницы.
      * @return Список проектов в формате ProjectDto.
+     * @throws BadRequestExceptions если размер страницы вне допустимого диапазона.
      */
     @GetMapping(FETCH_PROJECT)
     public List<ProjectDto> fetchProjects(
-            @RequestParam(value = "prefix_name", required = false) Optional<String> optionalPrefixName) {
+            @RequestParam(value = "prefix_name", required = false) Optional<String> optionalPrefixName,
+            @RequestParam(value = "after_id", required = false) Optional<Long> optionalAfterId,
+            @RequestParam(value = "limit", required = false) Optional<Integer> optionalLimit) {
 
         optionalPrefixName = optionalPrefixName.filter(prefixName -> !prefixName.trim().isEmpty());
 
-        Stream<ProjectEntity> projectStream = optionalPrefixName
-                .map(projectRepository::streamAllByNameStartsWithIgnoreCase)
-                .orElseGet(projectRepository::streamAllBy);
+        if (optionalAfterId.isPresent() || optionalLimit.isPresent()) {
+            return fetchProjectsPage(
+                    optionalPrefixName,
+                    optionalAfterId.orElse(0L),
+                    optionalLimit.orElse(DEFAULT_PAGE_LIMIT)
+            );
+        }
+
+        return projectService.findProjects(optionalPrefixName);
+
+    }
+
+    /**
+     * Метод для получения проекта по идентификатору с поддержкой условных запросов. ETag ответа - версия
+     * проекта, Last-Modified - время его изменения; оба меняются при любом изменении проекта, его колонок
+     * и задач. Если проект не менялся, возвращается 304 Not Modified без загрузки проекта.
+     *
+     * @param projectId Идентификатор проекта.
+     * @param request   Запрос с необязательными заголовками If-None-Match и If-Modified-Since.
+     * @return Проект в формате ProjectDto или пустой ответ 304.
+     * @throws NotFoundExceptions если проект с указанным идентификатором не найден.
+     */
+    @GetMapping(GET_PROJECT)
+    public ResponseEntity<ProjectDto> getProject(
+            @PathVariable("project_id") Long projectId,
+            HttpServletRequest request) {
+
+        ProjectChangeVersion changeVersion = projectService.getChangeVersion(projectId);
+        String eTag = "\"" + changeVersion.getVersion() + "\"";
+
+        if (conditionalRequestHelper.isNotModified(request, eTag, changeVersion.getUpdatedAt())) {
+            return conditionalRequestHelper.makeNotModifiedResponse(eTag, changeVersion.getUpdatedAt());
+        }
+
+        return ResponseEntity
+                .ok()
+                .eTag(eTag)
+                .lastModified(changeVersion.getUpdatedAt())
+                .body(projectService.getProject(projectId));
+    }
 
-        return projectStream
-                .map(projectDtoFactory::makeProjectDto)
-                .collect(Collectors.toList());
+    /**
+     * Метод для потоковой выдачи списка проектов в формате NDJSON (по одному ProjectDto на строку).
+     * Проекты сериализуются по мере чтения из базы данных, поэтому расход памяти не зависит
+     * от количества проектов.
+     *
+     * @param optionalPrefixName Необязательный параметр для фильтрации по префиксу имени.
+     * @return Тело ответа, записываемое в поток по мере чтения проектов.
+     */
+    @GetMapping(value = STREAM_PROJECTS, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamProjectsAsNdjson(
+            @RequestParam(value = "prefix_name", required = false) Optional<String> optionalPrefixName) {
 
+        final Optional<String> optionalFilteredPrefixName = optionalPrefixName
+                .filter(prefixName -> !prefixName.trim().isEmpty());
+
+        return outputStream -> projectService.forEachProject(optionalFilteredPrefixName, project -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(project));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Метод для поиска проектов по префиксу имени без учета регистра (например, для автодополнения).
+     * Возвращает не более limit первых по алфавиту совпадений; поиск выполняется по функциональному
+     * индексу и не требует полного просмотра таблицы проектов.
+     *
+     * @param prefixName    Префикс имени проекта.
+     * @param optionalLimit Необязательное максимальное количество результатов.
+     * @return Список найденных проектов в формате ProjectDto.
+     * @throws BadRequestExceptions если префикс пустой или количество результатов вне допустимого диапазона.
+     */
+    @GetMapping(SEARCH_PROJECTS)
+    public List<ProjectDto> searchProjects(
+            @RequestParam("prefix_name") String prefixName,
+            @RequestParam(value = "limit", required = false) Optional<Integer> optionalLimit) {
+
+        if (prefixName.trim().isEmpty()) {
+            throw new BadRequestExceptions("Prefix can't be empty");
+        }
+
+        int limit = optionalLimit.orElse(DEFAULT_SEARCH_LIMIT);
+
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new BadRequestExceptions(String.format("Limit must be between 1 and %d.", MAX_SEARCH_LIMIT));
+        }
+
+        return projectService.searchProjects(prefixName, limit);
     }
 
     /**
@@ -92,19 +201,7 @@ public class ProjectController {
             throw new BadRequestExceptions("Name can't be empty");
         }
 
-        projectRepository
-                .findByName(projectName)
-                .ifPresent(project -> {
-                    throw new BadRequestExceptions(String.format("Project \"%s\" alredy exists.", projectName));
-                });
-
-        ProjectEntity project = projectRepository.saveAndFlush(
-                ProjectEntity.builder()
-                        .name(projectName)
-                        .build()
-        );
-
-        return projectDtoFactory.makeProjectDto(project);
+        return projectService.createProject(projectName);
 
     }
 
@@ -132,25 +229,7 @@ public class ProjectController {
             throw new BadRequestExceptions("Project name can't be empty.");
         }
 
-        final ProjectEntity project = optionalProjectId
-                .map(controllerHelper::getProjectOrThrowException)
-                .orElseGet(() -> ProjectEntity.builder().build());
-
-        optionalProjectName
-                .ifPresent(projectName -> {
-                    projectRepository
-                            .findByName(projectName)
-                            .filter(anotherProject -> !Objects.equals(anotherProject.getId(), project.getId()))
-                            .ifPresent(anotherProject -> {
-                                throw new BadRequestExceptions(String.format("Project \"%s\" alredy exists.", projectName)
-                                );
-                            });
-                    project.setName(projectName);
-                });
-
-        final ProjectEntity savedProject = projectRepository.saveAndFlush(project);
-
-        return projectDtoFactory.makeProjectDto(savedProject);
+        return projectService.createOrUpdateProject(optionalProjectId, optionalProjectName);
     }
 
     /**
@@ -172,39 +251,44 @@ public class ProjectController {
             throw new BadRequestExceptions("Name can't be empty");
         }
 
-        ProjectEntity project = controllerHelper.getProjectOrThrowException(projectId);
-
-        projectRepository
-                .findByName(projectName)
-                .filter(anotherProject -> !Objects.equals(anotherProject.getId(), projectId))
-                .ifPresent(anotherProject -> {
-                    throw new BadRequestExceptions(String.format("Project \"%s\" alredy exists.", projectName));
-                });
-
-        project.setName(projectName);
-
-
-        project = projectRepository.saveAndFlush(project);
-
-        return projectDtoFactory.makeProjectDto(project);
+        return projectService.editProject(projectId, projectName);
 
     }
 
 
     /**
-     * Метод для удаления проекта по идентификатору.
+     * Метод для удаления проекта по идентификатору вместе с его колонками и задачами.
+     * <p>
+     * По умолчанию проект удаляется одной транзакцией. Если передан параметр async=true, удаление
+     * выполняется в фоне частями (для проектов с миллионами задач), а ответ 202 Accepted возвращается сразу;
+     * до окончания удаления проект и его доска доступны только для чтения.
      *
      * @param projectId Идентификатор проекта, который нужно удалить.
+     * @param async     Удалить проект в фоне.
      * @return Объект AskDto с информацией о результате удаления.
      * @throws NotFoundExceptions если проект с указанным идентификатором не найден.
      */
     @DeleteMapping(DELETE_PROJECT)
-    public AskDto deleteProject(@PathVariable("project_Id") Long projectId) {
+    public ResponseEntity<AskDto> deleteProject(
+            @PathVariable("project_Id") Long projectId,
+            @RequestParam(name = "async", defaultValue = "false") boolean async) {
 
-        controllerHelper.getProjectOrThrowException(projectId);
+        if (async) {
+            projectDeletionService.deleteProjectAsync(projectId);
+            return ResponseEntity.accepted().body(AskDto.makeDefault(true));
+        }
 
-        projectRepository.deleteById(projectId);
+        projectService.deleteProject(projectId);
+
+        return ResponseEntity.ok(AskDto.makeDefault(true));
+    }
+
+    private List<ProjectDto> fetchProjectsPage(Optional<String> optionalPrefixName, Long afterId, int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new BadRequestExceptions(String.format("Limit must be between 1 and %d.", MAX_PAGE_LIMIT));
+        }
 
-        return AskDto.makeDefault(true);
+        return projectService.findProjectsPage(optionalPrefixName, afterId, limit);
     }
 }
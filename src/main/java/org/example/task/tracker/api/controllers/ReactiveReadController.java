@@ -0,0 +1,118 @@
+package org.example.task.tracker.api.controllers;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.example.task.tracker.api.controllers.helpers.BoardHelper;
+import org.example.task.tracker.api.controllers.helpers.ControllerHelper;
+import org.example.task.tracker.api.dto.ProjectDto;
+import org.example.task.tracker.api.dto.TaskStateDto;
+import org.example.task.tracker.api.factories.ProjectDtoFactory;
+import org.example.task.tracker.config.ReactiveConfig;
+import org.example.task.tracker.store.repositories.ProjectRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Класс ReactiveReadController предоставляет параллельное API только для чтения, которое отдает
+ * списки проектов и доски в виде потоков NDJSON с поддержкой backpressure. Запросы на запись
+ * остаются в обычных контроллерах Spring MVC.
+ * <p>
+ * Данные читаются из базы данных страницами по мере того, как клиент их потребляет: следующая
+ * страница запрашивается только после отправки предыдущей, поэтому расход памяти на одного клиента
+ * ограничен размером страницы. Между страницами поток клиентом не занимается, а все чтения
+ * выполняются на планировщике {@link ReactiveConfig#READ_SCHEDULER} с фиксированным числом потоков.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RestController
+public class ReactiveReadController {
+
+    ProjectRepository projectRepository;
+
+    ProjectDtoFactory projectDtoFactory;
+
+    ControllerHelper controllerHelper;
+
+    BoardHelper boardHelper;
+
+    TransactionTemplate readOnlyTransactionTemplate;
+
+    Scheduler readScheduler;
+
+    int pageSize;
+
+    public static final String STREAM_PROJECTS = "/api/reactive/projects";
+    public static final String STREAM_TASK_STATES = "/api/reactive/projects/{project_id}/tasks-states";
+
+    public ReactiveReadController(
+            ProjectRepository projectRepository,
+            ProjectDtoFactory projectDtoFactory,
+            ControllerHelper controllerHelper,
+            BoardHelper boardHelper,
+            PlatformTransactionManager transactionManager,
+            @Qualifier(ReactiveConfig.READ_SCHEDULER) Scheduler readScheduler,
+            @Value("${task-tracker.reactive.page-size}") int pageSize) {
+
+        this.projectRepository = projectRepository;
+        this.projectDtoFactory = projectDtoFactory;
+        this.controllerHelper = controllerHelper;
+        this.boardHelper = boardHelper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readScheduler = readScheduler;
+        this.pageSize = pageSize;
+    }
+
+    @GetMapping(value = STREAM_PROJECTS, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProjectDto> streamProjects() {
+        return Flux
+                .<List<ProjectDto>, Long>generate(() -> 0L, (afterId, sink) -> {
+
+                    List<ProjectDto> page = fetchProjectsPage(afterId);
+
+                    if (page.isEmpty()) {
+                        sink.complete();
+                        return afterId;
+                    }
+
+                    sink.next(page);
+
+                    return page.get(page.size() - 1).getId();
+                })
+                .subscribeOn(readScheduler)
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    @GetMapping(value = STREAM_TASK_STATES, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskStateDto> streamTaskStates(@PathVariable(name = "project_id") Long projectId) {
+        return Mono
+                .fromCallable(() -> readOnlyTransactionTemplate.execute(status -> {
+                    controllerHelper.getProjectDtoOrThrowException(projectId);
+                    return boardHelper.makeBoard(projectId, TaskStateController.DEFAULT_TASKS_PAGE_LIMIT);
+                }))
+                .subscribeOn(readScheduler)
+                .flatMapIterable(Function.identity());
+    }
+
+    private List<ProjectDto> fetchProjectsPage(Long afterId) {
+        return readOnlyTransactionTemplate.execute(status -> projectRepository
+                .findAllByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, pageSize))
+                .stream()
+                .map(projectDtoFactory::makeProjectDto)
+                .collect(Collectors.toList())
+        );
+    }
+
+}
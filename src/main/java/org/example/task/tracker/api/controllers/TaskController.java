@@ -0,0 +1,233 @@
+package org.example.task.tracker.api.controllers;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.log4j.Log4j2;
+import org.example.task.tracker.api.controllers.helpers.ControllerHelper;
+import org.example.task.tracker.api.dto.AskDto;
+import org.example.task.tracker.api.dto.ImportReportDto;
+import org.example.task.tracker.api.dto.ImportTaskDto;
+import org.example.task.tracker.api.dto.TaskDto;
+import org.example.task.tracker.exceptions.BadRequestExceptions;
+import org.example.task.tracker.services.TaskService;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Класс TaskController обрабатывает чтение, поиск, создание, перенос, удаление, массовый импорт
+ * и экспорт задач проекта.
+ * <p>
+ * Импорт читает тело запроса потоково (JSON-массив или NDJSON), поэтому тело целиком в память
+ * не загружается. Задачи записываются пакетами по task-tracker.import.batch-size: каждый пакет
+ * записывается в отдельной короткой транзакции ({@link TaskService#importTasks}), поэтому импорт
+ * не держит одну длинную транзакцию и расход памяти ограничен размером пакета. Если пакет не прошел
+ * проверку, импорт прерывается, а уже записанные пакеты остаются: импорт не атомарен, и ответ
+ * 400 Bad Request сообщает, сколько задач было записано до ошибки. Размер пакета должен быть положительным,
+ * иначе приложение не запустится.
+ * Экспорт так же потоково выдает колонки проекта в порядке отображения вместе с их задачами.
+ */
+@Log4j2
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+@RestController
+public class TaskController implements InitializingBean {
+
+    TaskService taskService;
+    ControllerHelper controllerHelper;
+    ObjectMapper objectMapper;
+
+    @NonFinal
+    @Value("${task-tracker.import.batch-size}")
+    int importBatchSize;
+
+    public static final String GET_TASKS = "/api/task-states/{task_state_id}/tasks";
+    public static final String CREATE_TASK = "/api/task-states/{task_state_id}/tasks";
+    public static final String MOVE_TASK = "/api/tasks/{task_id}/task-state";
+    public static final String DELETE_TASK = "/api/tasks/{task_id}";
+    public static final String IMPORT_TASKS = "/api/projects/{project_id}/tasks/import";
+    public static final String EXPORT_TASKS = "/api/projects/{project_id}/tasks/export";
+    public static final String SEARCH_TASKS = "/api/projects/{project_id}/tasks/search";
+
+    public static final int MAX_SEARCH_OFFSET = 10_000;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (importBatchSize < 1) {
+            throw new IllegalStateException(String.format(
+                    "task-tracker.import.batch-size must be positive, but was %d.", importBatchSize
+            ));
+        }
+    }
+
+    /**
+     * Возвращает задачи колонки постранично: не более limit задач с идентификатором больше after_id,
+     * отсортированных по идентификатору. Запрос выполняется по индексу (task_state_id, id).
+     */
+    @GetMapping(GET_TASKS)
+    public List<TaskDto> getTasks(
+            @PathVariable(name = "task_state_id") Long taskStateId,
+            @RequestParam(name = "after_id", required = false) Optional<Long> optionalAfterId,
+            @RequestParam(name = "limit", required = false) Optional<Integer> optionalLimit) {
+
+        int limit = optionalLimit.orElse(TaskStateController.DEFAULT_TASKS_PAGE_LIMIT);
+
+        if (limit < 1 || limit > TaskStateController.MAX_TASKS_PAGE_LIMIT) {
+            throw new BadRequestExceptions(String.format(
+                    "Limit must be between 1 and %d.", TaskStateController.MAX_TASKS_PAGE_LIMIT
+            ));
+        }
+
+        return taskService.getTasks(taskStateId, optionalAfterId.orElse(0L), limit);
+    }
+
+    @PostMapping(CREATE_TASK)
+    public TaskDto createTask(
+            @PathVariable(name = "task_state_id") Long taskStateId,
+            @RequestParam(name = "task_name") String taskName,
+            @RequestParam(name = "task_description", required = false) Optional<String> optionalTaskDescription) {
+
+        if (taskName.isBlank()) {
+            throw new BadRequestExceptions("Task name can't be empty.");
+        }
+
+        return taskService.createTask(taskStateId, taskName, optionalTaskDescription);
+    }
+
+    @PatchMapping(MOVE_TASK)
+    public TaskDto moveTask(
+            @PathVariable(name = "task_id") Long taskId,
+            @RequestParam(name = "task_state_id") Long taskStateId) {
+
+        return taskService.moveTask(taskId, taskStateId);
+    }
+
+    @DeleteMapping(DELETE_TASK)
+    public AskDto deleteTask(@PathVariable(name = "task_id") Long taskId) {
+
+        taskService.deleteTask(taskId);
+
+        return AskDto.makeDefault(true);
+    }
+
+    /**
+     * Ищет задачи проекта по словам из названия и описания (синтаксис websearch_to_tsquery: "фраза",
+     * or, -исключение) и возвращает страницу результатов, упорядоченных по релевантности.
+     * Глубина постраничного просмотра ограничена: offset не больше {@value #MAX_SEARCH_OFFSET}.
+     */
+    @GetMapping(SEARCH_TASKS)
+    public List<TaskDto> searchTasks(
+            @PathVariable(name = "project_id") Long projectId,
+            @RequestParam(name = "query") String query,
+            @RequestParam(name = "offset", required = false) Optional<Integer> optionalOffset,
+            @RequestParam(name = "limit", required = false) Optional<Integer> optionalLimit) {
+
+        int offset = optionalOffset.orElse(0);
+        int limit = optionalLimit.orElse(TaskStateController.DEFAULT_TASKS_PAGE_LIMIT);
+
+        if (query.isBlank()) {
+            throw new BadRequestExceptions("Search query can't be empty.");
+        }
+
+        if (offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            throw new BadRequestExceptions(String.format("Offset must be between 0 and %d.", MAX_SEARCH_OFFSET));
+        }
+
+        if (limit < 1 || limit > TaskStateController.MAX_TASKS_PAGE_LIMIT) {
+            throw new BadRequestExceptions(String.format(
+                    "Limit must be between 1 and %d.", TaskStateController.MAX_TASKS_PAGE_LIMIT
+            ));
+        }
+
+        return taskService.searchTasks(projectId, query, offset, limit);
+    }
+
+    @PostMapping(
+            value = IMPORT_TASKS,
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    public ImportReportDto importTasks(
+            @PathVariable(name = "project_id") Long projectId,
+            HttpServletRequest request) throws IOException {
+
+        controllerHelper.getProjectDtoOrThrowException(projectId);
+
+        long startedAt = System.nanoTime();
+        long peakHeapBytes = getUsedHeapBytes();
+        long imported = 0;
+
+        List<ImportTaskDto> batch = new ArrayList<>(importBatchSize);
+
+        try (MappingIterator<ImportTaskDto> iterator = objectMapper
+                .readerFor(ImportTaskDto.class)
+                .readValues(request.getInputStream())) {
+
+            while (iterator.hasNext()) {
+
+                batch.add(iterator.next());
+
+                if (batch.size() == importBatchSize || !iterator.hasNext()) {
+                    imported += importBatch(projectId, batch, imported);
+                    batch.clear();
+                    peakHeapBytes = Math.max(peakHeapBytes, getUsedHeapBytes());
+                }
+            }
+        }
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        peakHeapBytes = Math.max(peakHeapBytes, getUsedHeapBytes());
+
+        ImportReportDto report = ImportReportDto.builder()
+                .imported(imported)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(imported * 1000 / elapsedMillis)
+                .peakHeapBytes(peakHeapBytes)
+                .build();
+
+        log.info("Tasks imported into project {}: {}", projectId, report);
+
+        return report;
+    }
+
+    @GetMapping(value = EXPORT_TASKS, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportTasks(@PathVariable(name = "project_id") Long projectId) {
+
+        controllerHelper.getProjectDtoOrThrowException(projectId);
+
+        return outputStream -> taskService.exportTasks(projectId, outputStream);
+    }
+
+    private int importBatch(Long projectId, List<ImportTaskDto> batch, long imported) {
+        try {
+            return taskService.importTasks(projectId, batch);
+        } catch (BadRequestExceptions e) {
+            throw new BadRequestExceptions(String.format(
+                    "%s %d tasks were imported before the error.", e.getMessage(), imported
+            ));
+        }
+    }
+
+    private static long getUsedHeapBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -1,103 +1,132 @@
 package org.example.task.tracker.api.controllers;
 
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import org.example.task.tracker.api.controllers.helpers.ControllerHelper;
+import org.example.task.tracker.api.controllers.helpers.ConditionalRequestHelper;
+import org.example.task.tracker.api.dto.BoardStatsDto;
 import org.example.task.tracker.api.dto.TaskStateDto;
-import org.example.task.tracker.api.factories.TaskStateDtoFactory;
 import org.example.task.tracker.exceptions.BadRequestExceptions;
-import org.example.task.tracker.exceptions.NotFoundExceptions;
-import org.example.task.tracker.store.entities.ProjectEntity;
-import org.example.task.tracker.store.entities.TaskStateEntity;
-import org.example.task.tracker.store.repositories.TaskStateRepository;
-import org.springframework.transaction.annotation.Transactional;
+import org.example.task.tracker.services.ProjectService;
+import org.example.task.tracker.services.TaskStateService;
+import org.example.task.tracker.services.snapshots.BoardSnapshot;
+import org.example.task.tracker.services.snapshots.BoardSnapshotService;
+import org.example.task.tracker.store.repositories.ProjectRepository.ProjectChangeVersion;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
-@Transactional
 @RestController
 public class TaskStateController {
 
-    TaskStateRepository taskStateRepository;
-    TaskStateDtoFactory taskStateDtoFactory;
-    ControllerHelper controllerHelper;
+    TaskStateService taskStateService;
 
-    public static final String GET_TASK_STATES = "/api/projects/{project_id}/tasks-states";
-    public static final String CREATE_TASK_STATE = "/api/projects/{project_id}/task-states";
+    BoardSnapshotService boardSnapshotService;
 
-    public static final String UPDATE_TASK_STATE = "/api/task-states/{task_state_Id}";
+    ProjectService projectService;
 
-    @GetMapping(GET_TASK_STATES)
-    public List<TaskStateDto> getTaskStates(@PathVariable(name = "project_id") Long projectId) {
+    ConditionalRequestHelper conditionalRequestHelper;
 
-        ProjectEntity project = controllerHelper.getProjectOrThrowException(projectId);
+    public static final int DEFAULT_TASKS_PAGE_LIMIT = 50;
+    public static final int MAX_TASKS_PAGE_LIMIT = 1000;
 
-        return project
-                .getTaskStates()
-                .stream()
-                .map(taskStateDtoFactory::makeTaskStateDto)
-                .collect(Collectors.toList());
-
-    }
+    public static final String GET_TASK_STATES = "/api/projects/{project_id}/tasks-states";
+    public static final String GET_BOARD_STATS = "/api/projects/{project_id}/tasks-states/stats";
+    public static final String CREATE_TASK_STATE = "/api/projects/{project_id}/task-states";
 
-    @PostMapping(CREATE_TASK_STATE)
-    public TaskStateDto createTaskState(
+    public static final String UPDATE_TASK_STATE = "/api/task-states/{task_state_Id}";
+    public static final String REORDER_TASK_STATES = "/api/projects/{project_id}/task-states/order";
+    public static final String CHANGE_TASK_STATE_POSITION = "/api/task-states/{task_state_id}/position/change";
+
+    /**
+     * Возвращает колонки проекта в порядке отображения. Для каждой колонки возвращается общее
+     * количество задач и только первая страница задач размером tasks_limit; остальные задачи
+     * колонки загружаются постранично через {@link TaskController#GET_TASKS}.
+     * <p>
+     * Доска с размером страницы по умолчанию отдается из готового снимка ({@link BoardSnapshotService})
+     * без повторной сериализации. ETag и Last-Modified ответа - версия и время изменения проекта, которые
+     * меняются при любом изменении проекта, его колонок и задач. Условный запрос (If-None-Match или
+     * If-Modified-Since) проверяется одним запросом версии проекта, и если доска не менялась, возвращается
+     * 304 Not Modified без загрузки доски.
+     */
+    @GetMapping(value = GET_TASK_STATES, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getTaskStates(
             @PathVariable(name = "project_id") Long projectId,
-            @RequestParam(name = "task_state_name") String taskStateName) {
+            @RequestParam(name = "tasks_limit", required = false) Optional<Integer> optionalTasksLimit,
+            HttpServletRequest request) {
 
-        if (taskStateName.isBlank()) {
-            throw new BadRequestExceptions("Task state name can't be empty.");
-        }
+        int tasksLimit = optionalTasksLimit.orElse(DEFAULT_TASKS_PAGE_LIMIT);
 
-        ProjectEntity project = controllerHelper.getProjectOrThrowException(projectId);
-
-        Optional<TaskStateEntity> optionalAnotherTaskState = Optional.empty();
+        if (tasksLimit < 0 || tasksLimit > MAX_TASKS_PAGE_LIMIT) {
+            throw new BadRequestExceptions(String.format(
+                    "Tasks limit must be between 0 and %d.", MAX_TASKS_PAGE_LIMIT
+            ));
+        }
 
-        for (TaskStateEntity taskState : project.getTaskStates()) {
+        ProjectChangeVersion changeVersion = projectService.getChangeVersion(projectId);
+        String currentETag = BoardSnapshot.makeETag(changeVersion, tasksLimit);
 
-            if (taskState.getName().equalsIgnoreCase(taskStateName)) {
-                throw new BadRequestExceptions(String.format("Task state name \"%s\" already exist.", taskStateName));
+        if (conditionalRequestHelper.isNotModified(request, currentETag, changeVersion.getUpdatedAt())) {
+            return conditionalRequestHelper.makeNotModifiedResponse(currentETag, changeVersion.getUpdatedAt());
+        }
 
-            }
+        BoardSnapshot board = boardSnapshotService.getBoardSnapshot(projectId, tasksLimit, currentETag);
 
-            if (taskState.getRightTaskState().isEmpty()) {
-                optionalAnotherTaskState = Optional.of(taskState);
-                break;
-            }
+        return ResponseEntity
+                .ok()
+                .eTag(currentETag)
+                .lastModified(changeVersion.getUpdatedAt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(board.getJson());
 
-        }
+    }
 
-        TaskStateEntity taskState = taskStateRepository.saveAndFlush(
-                TaskStateEntity
-                        .builder()
-                        .name(taskStateName)
-                        .project(project)
-                        .build()
-        );
+    /**
+     * Возвращает количество задач и время создания самой новой задачи для проекта и каждой его колонки.
+     * Значения читаются из счетчиков, которые поддерживаются при изменении задач, поэтому задачи
+     * не загружаются и не подсчитываются. Условные запросы обрабатываются так же, как для доски.
+     */
+    @GetMapping(GET_BOARD_STATS)
+    public ResponseEntity<BoardStatsDto> getBoardStats(
+            @PathVariable(name = "project_id") Long projectId,
+            HttpServletRequest request) {
 
-        optionalAnotherTaskState
-                .ifPresent(anotherTaskState -> {
+        ProjectChangeVersion changeVersion = projectService.getChangeVersion(projectId);
+        String eTag = "\"" + changeVersion.getVersion() + "\"";
 
-                    taskState.setLeftTaskState(anotherTaskState);
+        if (conditionalRequestHelper.isNotModified(request, eTag, changeVersion.getUpdatedAt())) {
+            return conditionalRequestHelper.makeNotModifiedResponse(eTag, changeVersion.getUpdatedAt());
+        }
 
-                    anotherTaskState.setRightTaskState(taskState);
+        return ResponseEntity
+                .ok()
+                .eTag(eTag)
+                .lastModified(changeVersion.getUpdatedAt())
+                .body(taskStateService.getBoardStats(projectId));
+    }
 
-                    taskStateRepository.saveAndFlush(anotherTaskState);
-                });
+    @PostMapping(CREATE_TASK_STATE)
+    public TaskStateDto createTaskState(
+            @PathVariable(name = "project_id") Long projectId,
+            @RequestParam(name = "task_state_name") String taskStateName) {
 
-        final TaskStateEntity savedTaskState = taskStateRepository.saveAndFlush(taskState);
+        if (taskStateName.isBlank()) {
+            throw new BadRequestExceptions("Task state name can't be empty.");
+        }
 
-        return taskStateDtoFactory.makeTaskStateDto(savedTaskState);
+        return taskStateService.createTaskState(projectId, taskStateName);
     }
 
     @PatchMapping(UPDATE_TASK_STATE)
@@ -109,35 +138,27 @@ public class TaskStateController {
             throw new BadRequestExceptions("Task state name can't be empty.");
         }
 
-        TaskStateEntity taskState = getTaskStateOrThrowException(taskStateId);
-
-        taskStateRepository
-                .findTaskStateEntityByProjectIdAndNameContainsIgnoreCase(
-                        taskState.getProject().getId(), taskStateName
-                )
-                .filter(anotherTaskState -> !anotherTaskState.getId().equals(taskStateId))
-                .ifPresent(anotherTaskState -> {
-                    throw new BadRequestExceptions(String.format("Task state \"%s\" already exist.", taskStateName));
-                });
-
-        taskState.setName(taskStateName);
-
+        return taskStateService.updateTaskState(taskStateId, taskStateName);
+    }
 
-        taskState = taskStateRepository.saveAndFlush(taskState);
+    /**
+     * Задает новый порядок всех колонок проекта. Тело запроса - JSON-массив идентификаторов колонок
+     * в новом порядке; каждая колонка проекта должна встречаться в нем ровно один раз.
+     */
+    @PutMapping(REORDER_TASK_STATES)
+    public BoardStatsDto reorderTaskStates(
+            @PathVariable(name = "project_id") Long projectId,
+            @RequestBody List<Long> taskStateIds) {
 
-        return taskStateDtoFactory.makeTaskStateDto(taskState);
+        return taskStateService.reorderTaskStates(projectId, taskStateIds);
     }
 
-    private TaskStateEntity getTaskStateOrThrowException(Long taskSTateId) {
-        return taskStateRepository
-                .findById(taskSTateId)
-                .orElseThrow(() ->
-                        new NotFoundExceptions(String.format(
-                                "Task state with \"%s\" id doesn't exist.",
-                                taskSTateId
-                        )
-                        )
-                );
+    @PatchMapping(CHANGE_TASK_STATE_POSITION)
+    public TaskStateDto changeTaskStatePosition(
+            @PathVariable(name = "task_state_id") Long taskStateId,
+            @RequestParam(name = "left_task_state_id", required = false) Optional<Long> optionalLeftTaskStateId) {
+
+        return taskStateService.changeTaskStatePosition(taskStateId, optionalLeftTaskStateId);
     }
 
 }
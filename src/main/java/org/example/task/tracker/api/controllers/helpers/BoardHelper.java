@@ -0,0 +1,50 @@
+package org.example.task.tracker.api.controllers.helpers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.example.task.tracker.api.dto.TaskStateDto;
+import org.example.task.tracker.api.factories.TaskStateDtoFactory;
+import org.example.task.tracker.config.metrics.MetricsConfig;
+import org.example.task.tracker.store.entities.TaskEntity;
+import org.example.task.tracker.store.entities.TaskStateEntity;
+import org.example.task.tracker.store.repositories.TaskRepository;
+import org.example.task.tracker.store.repositories.TaskStateRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Собирает доску проекта: колонки в порядке отображения, количество задач в каждой колонке
+ * (из счетчика колонки) и первую страницу задач. Доска загружается постоянным числом запросов независимо от количества
+ * колонок и задач.
+ */
+@RequiredArgsConstructor
+@Component
+@Transactional(readOnly = true)
+public class BoardHelper {
+
+    private final TaskStateRepository taskStateRepository;
+
+    private final TaskRepository taskRepository;
+
+    private final TaskStateDtoFactory taskStateDtoFactory;
+
+    private final MeterRegistry meterRegistry;
+
+    public List<TaskStateDto> makeBoard(Long projectId, int tasksLimit) {
+
+        List<TaskStateEntity> taskStates = taskStateRepository.findAllByProjectIdOrderByOrdinalAsc(projectId);
+
+        Map<Long, List<TaskEntity>> tasksPageByTaskStateId = taskRepository
+                .findFirstPageOfEachTaskStateByProjectId(projectId, tasksLimit)
+                .stream()
+                .collect(Collectors.groupingBy(task -> task.getTaskState().getId()));
+
+        return meterRegistry
+                .timer(MetricsConfig.DTO_MAPPING_TIMER, "dto", "board")
+                .record(() -> taskStateDtoFactory.makeTaskStateDtos(taskStates, tasksPageByTaskStateId));
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.example.task.tracker.api.controllers.helpers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Instant;
+import java.util.Arrays;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Проверяет условные GET-запросы (If-None-Match, If-Modified-Since) по заранее известным ETag и времени
+ * изменения ресурса, до того как ресурс загружен. If-None-Match, если он передан, имеет приоритет.
+ * <p>
+ * Проверка выполняется вручную, а не через WebRequest.checkNotModified: тот записывает заголовки ETag
+ * и Last-Modified в ответ сразу, и полный ответ с собственным ETag получил бы эти заголовки дважды.
+ */
+@Component
+public class ConditionalRequestHelper {
+
+    public boolean isNotModified(HttpServletRequest request, String eTag, Instant lastModified) {
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+        if (ifNoneMatch != null) {
+            return Arrays
+                    .stream(ifNoneMatch.split(","))
+                    .map(String::trim)
+                    .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                    .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+        }
+
+        long ifModifiedSince;
+
+        try {
+            ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        return ifModifiedSince != -1 && lastModified.getEpochSecond() <= ifModifiedSince / 1000;
+    }
+
+    public <T> ResponseEntity<T> makeNotModifiedResponse(String eTag, Instant lastModified) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .build();
+    }
+
+}
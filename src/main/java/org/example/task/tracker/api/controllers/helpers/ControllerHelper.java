@@ -1,31 +1,95 @@
 package org.example.task.tracker.api.controllers.helpers;
 
+import java.time.Instant;
 import lombok.RequiredArgsConstructor;
+import org.example.task.tracker.api.dto.ProjectDto;
+import org.example.task.tracker.exceptions.BadRequestExceptions;
 import org.example.task.tracker.exceptions.NotFoundExceptions;
 import org.example.task.tracker.store.entities.ProjectEntity;
 import org.example.task.tracker.store.repositories.ProjectRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Методы, возвращающие управляемые сущности, не открывают собственных транзакций и вызываются только
+ * внутри транзакции вызывающего сервиса: вне ее сущность сразу оказалась бы отсоединенной.
+ */
 @RequiredArgsConstructor
 @Component
-@Transactional
 public class ControllerHelper {
 
     private final ProjectRepository projectRepository;
 
+    private final ProjectLookupCache projectLookupCache;
+
+    @Transactional(propagation = Propagation.MANDATORY)
     public ProjectEntity getProjectOrThrowException(Long projectId) {
         return projectRepository
                 .findById(projectId)
-                .orElseThrow(() ->
-                        new NotFoundExceptions
-                                (String.format(
-                                        "Project with id \"%s\" doesn't exists.",
-                                        projectId
-                                )
-
-                                )
-                );
+                .orElseThrow(() -> makeProjectNotFoundException(projectId));
+    }
+
+    /**
+     * Возвращает проект из кэша поиска проектов. Подходит для операций чтения, которым не нужна
+     * управляемая сущность, например для проверки существования проекта.
+     */
+    public ProjectDto getProjectDtoOrThrowException(Long projectId) {
+        return projectLookupCache
+                .findProject(projectId)
+                .orElseThrow(() -> makeProjectNotFoundException(projectId));
+    }
+
+    /**
+     * Загружает проект для изменения его доски (колонок или задач) с принудительным увеличением версии
+     * при фиксации транзакции и обновляет время его изменения. Из двух параллельных изменений доски
+     * зафиксируется только одно, второе получит OptimisticLockingFailureException и будет повторено;
+     * строка проекта при этом не блокируется.
+     * <p>
+     * Версия и время изменения проекта используются как ETag и Last-Modified доски, поэтому метод
+     * должен вызываться в каждой транзакции, изменяющей колонки или задачи проекта.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public ProjectEntity getProjectForUpdateOrThrowException(Long projectId) {
+
+        ProjectEntity project = getProjectForDeletionOrThrowException(projectId);
+
+        checkProjectIsNotDeleting(project);
+
+        return project;
+    }
+
+    /**
+     * Загружает проект для изменения так же, как {@link #getProjectForUpdateOrThrowException(Long)},
+     * но не отклоняет проект, который удаляется в фоне. Используется только при удалении проекта.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public ProjectEntity getProjectForDeletionOrThrowException(Long projectId) {
+
+        ProjectEntity project = projectRepository
+                .findWithLockById(projectId)
+                .orElseThrow(() -> makeProjectNotFoundException(projectId));
+
+        project.setUpdatedAt(Instant.now());
+
+        projectLookupCache.evictProject(projectId);
+
+        return project;
+    }
+
+    /**
+     * После того как фоновое удаление проекта принято, проект и его доска доступны только для чтения.
+     *
+     * @throws BadRequestExceptions если проект удаляется.
+     */
+    public void checkProjectIsNotDeleting(ProjectEntity project) {
+        if (Boolean.TRUE.equals(project.getDeleting())) {
+            throw new BadRequestExceptions(String.format("Project \"%s\" is being deleted.", project.getId()));
+        }
+    }
+
+    private static NotFoundExceptions makeProjectNotFoundException(Long projectId) {
+        return new NotFoundExceptions(String.format("Project with id \"%s\" doesn't exists.", projectId));
     }
 
 }
@@ -0,0 +1,48 @@
+package org.example.task.tracker.api.controllers.helpers;
+
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.example.task.tracker.api.dto.ProjectDto;
+import org.example.task.tracker.api.factories.ProjectDtoFactory;
+import org.example.task.tracker.config.CacheConfig;
+import org.example.task.tracker.config.datasource.ReadYourWritesWindow;
+import org.example.task.tracker.store.repositories.ProjectRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Кэш поиска проектов по идентификатору. Отсутствующие проекты тоже кэшируются (пустой Optional
+ * хранится как null), поэтому повторные запросы к несуществующим проектам не доходят до базы данных.
+ * Все операции, изменяющие или удаляющие проект, должны вызывать {@link #evictProject(Long)}.
+ * <p>
+ * Кэш заполняется только чтением с основной базы данных: результат отстающей реплики (в том числе
+ * отсутствие только что созданного проекта) иначе оставался бы в кэше до истечения времени жизни записи.
+ * Запросы клиентов внутри окна read-your-writes кэш не используют и читают основную базу напрямую.
+ */
+@RequiredArgsConstructor
+@Component
+public class ProjectLookupCache {
+
+    private final ProjectRepository projectRepository;
+
+    private final ProjectDtoFactory projectDtoFactory;
+
+    @Cacheable(
+            cacheNames = CacheConfig.PROJECTS_CACHE,
+            key = "#projectId",
+            condition = "!T(org.example.task.tracker.config.datasource.ReadYourWritesWindow).isPrimaryRequired()"
+    )
+    @Transactional(readOnly = true)
+    public Optional<ProjectDto> findProject(Long projectId) {
+        return ReadYourWritesWindow.callOnPrimary(() -> projectRepository
+                .findById(projectId)
+                .map(projectDtoFactory::makeProjectDto));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#projectId")
+    public void evictProject(Long projectId) {
+    }
+
+}
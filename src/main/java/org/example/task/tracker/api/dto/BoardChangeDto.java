@@ -0,0 +1,25 @@
+package org.example.task.tracker.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoardChangeDto {
+
+    @JsonProperty("project_id")
+    private Long projectId;
+
+    private String type;
+
+    @JsonProperty("task_state_id")
+    private Long taskStateId;
+
+}
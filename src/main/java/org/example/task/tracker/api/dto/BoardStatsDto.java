@@ -0,0 +1,33 @@
+package org.example.task.tracker.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardStatsDto {
+
+    @NonNull
+    @JsonProperty("project_id")
+    private Long projectId;
+
+    @NonNull
+    @JsonProperty("tasks_count")
+    private Long tasksCount;
+
+    @JsonProperty("last_task_created_at")
+    private Instant lastTaskCreatedAt;
+
+    @NonNull
+    @JsonProperty("task_states")
+    private List<TaskStateStatsDto> taskStates;
+
+}
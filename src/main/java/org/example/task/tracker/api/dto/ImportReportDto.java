@@ -0,0 +1,26 @@
+package org.example.task.tracker.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDto {
+
+    private Long imported;
+
+    @JsonProperty("elapsed_millis")
+    private Long elapsedMillis;
+
+    @JsonProperty("rows_per_second")
+    private Long rowsPerSecond;
+
+    @JsonProperty("peak_heap_bytes")
+    private Long peakHeapBytes;
+
+}
@@ -0,0 +1,22 @@
+package org.example.task.tracker.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportTaskDto {
+
+    @JsonProperty("task_state_id")
+    private Long taskStateId;
+
+    private String name;
+
+    private String description;
+
+}
@@ -31,6 +31,10 @@ public class TaskStateDto {
     @JsonProperty("created_at")
     private Instant createdAt;
 
+    @NonNull
+    @JsonProperty("tasks_count")
+    private Long tasksCount;
+
     @NonNull
     private List<TaskDto> tasks;
 
@@ -0,0 +1,30 @@
+package org.example.task.tracker.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStateStatsDto {
+
+    @NonNull
+    private Long id;
+
+    @NonNull
+    private String name;
+
+    @NonNull
+    @JsonProperty("tasks_count")
+    private Long tasksCount;
+
+    @JsonProperty("last_task_created_at")
+    private Instant lastTaskCreatedAt;
+
+}
@@ -1,8 +1,14 @@
 package org.example.task.tracker.api.factories;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.example.task.tracker.api.dto.TaskStateDto;
+import org.example.task.tracker.api.dto.TaskStateStatsDto;
+import org.example.task.tracker.store.entities.TaskEntity;
 import org.example.task.tracker.store.entities.TaskStateEntity;
 import org.springframework.stereotype.Component;
 
@@ -12,17 +18,21 @@ public class TaskStateDtoFactory {
 
     private final TaskDtoFactory taskDtoFactory;
 
-    public TaskStateDto makeTaskStateDto(TaskStateEntity entity) {
+    public TaskStateDto makeTaskStateDto(
+            TaskStateEntity entity,
+            Long leftTaskStateId,
+            Long rightTaskStateId,
+            List<TaskEntity> tasksPage) {
 
         return TaskStateDto.builder()
                 .id(entity.getId())
                 .name(entity.getName())
                 .createdAt(entity.getCreatedAt())
-                .leftTaskStateId(entity.getLeftTaskState().map(TaskStateEntity::getId).orElse(null))
-                .rightTaskStateId(entity.getRightTaskState().map(TaskStateEntity::getId).orElse(null))
+                .leftTaskStateId(leftTaskStateId)
+                .rightTaskStateId(rightTaskStateId)
+                .tasksCount(entity.getTasksCount())
                 .tasks(
-                        entity
-                                .getTasks()
+                        tasksPage
                                 .stream()
                                 .map(taskDtoFactory::makeTaskDto)
                                 .collect(Collectors.toList())
@@ -30,4 +40,38 @@ public class TaskStateDtoFactory {
                 .build();
     }
 
+    public TaskStateStatsDto makeTaskStateStatsDto(TaskStateEntity entity) {
+
+        return TaskStateStatsDto.builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .tasksCount(entity.getTasksCount())
+                .lastTaskCreatedAt(entity.getLastTaskCreatedAt())
+                .build();
+    }
+
+    public List<TaskStateDto> makeTaskStateDtos(
+            List<TaskStateEntity> orderedEntities,
+            Map<Long, List<TaskEntity>> tasksPageByTaskStateId) {
+
+        List<TaskStateDto> taskStates = new ArrayList<>(orderedEntities.size());
+
+        for (int i = 0; i < orderedEntities.size(); i++) {
+
+            TaskStateEntity entity = orderedEntities.get(i);
+
+            Long leftTaskStateId = i > 0 ? orderedEntities.get(i - 1).getId() : null;
+            Long rightTaskStateId = i < orderedEntities.size() - 1 ? orderedEntities.get(i + 1).getId() : null;
+
+            taskStates.add(makeTaskStateDto(
+                    entity,
+                    leftTaskStateId,
+                    rightTaskStateId,
+                    tasksPageByTaskStateId.getOrDefault(entity.getId(), Collections.emptyList())
+            ));
+        }
+
+        return taskStates;
+    }
+
 }
@@ -0,0 +1,35 @@
+package org.example.task.tracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Класс CacheConfig настраивает кэши приложения на основе Caffeine. Размер и время жизни записей
+ * задаются спецификацией Caffeine в application.yml; статистика (попадания, промахи, вытеснения)
+ * публикуется через actuator в метриках cache.gets и cache.evictions.
+ * <p>
+ * Менеджер кэшей обернут в TransactionAwareCacheManagerProxy: сброс записей, выполненный внутри
+ * транзакции, применяется только после ее фиксации, поэтому параллельный запрос не может вернуть
+ * в кэш еще не зафиксированное состояние.
+ */
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    public static final String PROJECTS_CACHE = "projects";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${task-tracker.cache.projects.spec}") String projectsCacheSpec) {
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PROJECTS_CACHE);
+        cacheManager.setCacheSpecification(projectsCacheSpec);
+
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+}
@@ -0,0 +1,30 @@
+package org.example.task.tracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Класс ReactiveConfig создает планировщик для реактивного API чтения. Все обращения этого API
+ * к базе данных выполняются на ограниченном числе потоков (task-tracker.reactive.threads), независимо
+ * от количества одновременно подключенных клиентов.
+ * <p>
+ * Очередь ожидающих чтений каждого потока ограничена task-tracker.reactive.queue-size задачами, поэтому
+ * медленные клиенты не накапливают неограниченное количество работы. Чтение, которому не хватило места
+ * в очереди, отклоняется с RejectedExecutionException, и клиент получает ответ 503 Service Unavailable.
+ */
+@Configuration
+public class ReactiveConfig {
+
+    public static final String READ_SCHEDULER = "reactiveReadScheduler";
+
+    @Bean(name = READ_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler reactiveReadScheduler(
+            @Value("${task-tracker.reactive.threads}") int threads,
+            @Value("${task-tracker.reactive.queue-size}") int queueSize) {
+        return Schedulers.newBoundedElastic(threads, queueSize, "reactive-read");
+    }
+
+}
@@ -0,0 +1,14 @@
+package org.example.task.tracker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * Класс RetryConfig включает повтор методов, отмеченных {@link RetryOnConflict}. Совет повтора
+ * выполняется снаружи транзакционного совета, поэтому каждая попытка открывает собственную транзакцию
+ * и заново читает актуальные версии сущностей.
+ */
+@EnableRetry
+@Configuration
+public class RetryConfig {
+}
@@ -0,0 +1,37 @@
+package org.example.task.tracker.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+/**
+ * Повторяет метод целиком, в новой транзакции, если она завершилась конфликтом версий
+ * (OptimisticLockingFailureException) или была выбрана жертвой взаимной блокировки
+ * (PessimisticLockingFailureException). Количество попыток и задержки между ними задаются
+ * в application.yml в блоке task-tracker.retry; задержка растет экспоненциально со случайным разбросом,
+ * чтобы конкурирующие запросы не повторялись синхронно. Если все попытки исчерпаны, клиент получает
+ * ответ 409 Conflict.
+ *
+ * @see RetryConfig
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Retryable(
+        retryFor = {OptimisticLockingFailureException.class, PessimisticLockingFailureException.class},
+        maxAttemptsExpression = "${task-tracker.retry.max-attempts}",
+        backoff = @Backoff(
+                delayExpression = "${task-tracker.retry.delay-millis}",
+                maxDelayExpression = "${task-tracker.retry.max-delay-millis}",
+                multiplier = 2,
+                random = true
+        )
+)
+public @interface RetryOnConflict {
+}
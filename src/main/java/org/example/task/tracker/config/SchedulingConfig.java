@@ -0,0 +1,12 @@
+package org.example.task.tracker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Класс SchedulingConfig включает выполнение методов, отмеченных @Scheduled (доставка outbox и heartbeat ленты изменений досок).
+ */
+@EnableScheduling
+@Configuration
+public class SchedulingConfig {
+}
@@ -0,0 +1,50 @@
+package org.example.task.tracker.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Класс VirtualThreadsConfig включает режим, в котором запросы обрабатываются на виртуальных потоках:
+ * Tomcat выполняет каждый запрос (включая транзакционную работу контроллеров) в отдельном виртуальном
+ * потоке вместо потока из пула фиксированного размера, и на тех же потоках выполняются асинхронные
+ * ответы Spring MVC (StreamingResponseBody). Блокирующий JDBC-вызов в таком режиме не занимает
+ * поток платформы, а число одновременных обращений к базе данных ограничивается пулом соединений.
+ * <p>
+ * Режим включается свойством task-tracker.virtual-threads.enabled и требует Java 21 или новее.
+ * Исполнитель создается через reflection, чтобы сборка оставалась совместимой с Java 17.
+ */
+@ConditionalOnProperty(name = "task-tracker.virtual-threads.enabled", havingValue = "true")
+@Configuration
+public class VirtualThreadsConfig {
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer(
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+            AsyncTaskExecutor applicationTaskExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(applicationTaskExecutor);
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer.", e);
+        }
+    }
+
+}
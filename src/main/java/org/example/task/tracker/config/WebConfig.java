@@ -0,0 +1,30 @@
+package org.example.task.tracker.config;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.task.tracker.config.datasource.ReadYourWritesInterceptor;
+import org.example.task.tracker.config.metrics.RequestMetricsInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Класс WebConfig регистрирует перехватчики запросов Spring MVC.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    ReadYourWritesInterceptor readYourWritesInterceptor;
+
+    RequestMetricsInterceptor requestMetricsInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestMetricsInterceptor);
+        registry.addInterceptor(readYourWritesInterceptor);
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.example.task.tracker.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Источник данных, который направляет транзакции только для чтения на реплики (по кругу), а все
+ * остальные обращения - на основную базу данных. Обращения вне окна read-your-writes
+ * ({@link ReadYourWritesWindow}) также выполняются на основной базе данных.
+ * <p>
+ * Признак readOnly транзакции становится известен после того, как менеджер транзакций запросил
+ * соединение, поэтому источник данных используется только через LazyConnectionDataSourceProxy:
+ * физическое соединение выбирается при первом запросе к базе данных.
+ */
+@Log4j2
+class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+
+    private final List<HikariDataSource> replicas;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    ReadOnlyRoutingDataSource(List<String> replicaKeys, List<HikariDataSource> replicas) {
+        this.replicaKeys = replicaKeys;
+        this.replicas = replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        if (replicaKeys.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWritesWindow.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+
+        String replicaKey = replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+
+        log.debug("Routing read-only transaction to {}", replicaKey);
+
+        return replicaKey;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.example.task.tracker.config.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Перехватчик запросов, который ведет окно read-your-writes: успешный изменяющий запрос открывает окно
+ * для клиента, а запросы клиента внутри окна выполняются на основной базе данных.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+@Component
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> SAFE_METHODS = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name()
+    );
+
+    ReadYourWritesWindow readYourWritesWindow;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        String clientId = request.getHeader(ReadYourWritesWindow.CLIENT_ID_HEADER);
+
+        if (clientId != null && readYourWritesWindow.isWithinWindow(clientId)) {
+            readYourWritesWindow.requirePrimary();
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+
+        readYourWritesWindow.clear();
+
+        String clientId = request.getHeader(ReadYourWritesWindow.CLIENT_ID_HEADER);
+
+        if (clientId != null
+                && exception == null
+                && response.getStatus() < HttpServletResponse.SC_BAD_REQUEST
+                && !SAFE_METHODS.contains(request.getMethod())) {
+            readYourWritesWindow.recordWrite(clientId);
+        }
+    }
+
+}
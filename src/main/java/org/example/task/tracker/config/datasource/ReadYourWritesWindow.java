@@ -0,0 +1,79 @@
+package org.example.task.tracker.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Окно read-your-writes: помнит клиентов, недавно выполнивших изменяющий запрос, и помечает текущий
+ * поток, если его запрос на чтение должен выполняться на основной базе данных, а не на реплике,
+ * которая может еще не получить изменения клиента.
+ * <p>
+ * Клиент определяется заголовком {@value #CLIENT_ID_HEADER}; запросы без заголовка окном не учитываются.
+ *
+ * @see ReadYourWritesInterceptor
+ */
+@Component
+public class ReadYourWritesWindow {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final int MAX_TRACKED_CLIENTS = 100_000;
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesWindow(RoutingDataSourceProperties properties) {
+        this.recentWriters = properties.getReadYourWritesWindow().isZero()
+                ? null
+                : Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_CLIENTS)
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    /**
+     * Выполняет действие так, что все его транзакции только для чтения используют основную базу данных.
+     * Нужно для данных, которые кэшируются надолго и не должны строиться по отстающей реплике.
+     */
+    public static <T> T callOnPrimary(Supplier<T> action) {
+
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        }
+    }
+
+    public void recordWrite(String clientId) {
+        if (recentWriters != null) {
+            recentWriters.put(clientId, Boolean.TRUE);
+        }
+    }
+
+    public boolean isWithinWindow(String clientId) {
+        return recentWriters != null && recentWriters.getIfPresent(clientId) != null;
+    }
+
+    void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.example.task.tracker.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Класс RoutingDataSourceConfig заменяет стандартный источник данных Spring Boot маршрутизирующим:
+ * транзакции только для чтения (сервисы открывают их для всех GET-запросов) выполняются на репликах
+ * из task-tracker.datasource.replicas, изменения - на основной базе данных из spring.datasource.
+ * <p>
+ * Пулы реплик называются replica-1, replica-2 и т.д. и публикуют те же метрики hikaricp.*, что
+ * и основной пул, поэтому распределение нагрузки видно в /actuator/metrics.
+ */
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@Configuration
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReadOnlyRoutingDataSource routingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties dataSourceProperties,
+            RoutingDataSourceProperties routingDataSourceProperties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(ReadOnlyRoutingDataSource.PRIMARY, primaryDataSource);
+
+        List<String> replicaKeys = new ArrayList<>();
+        List<HikariDataSource> replicas = new ArrayList<>();
+
+        for (RoutingDataSourceProperties.Replica replicaProperties : routingDataSourceProperties.getReplicas()) {
+
+            String replicaKey = "replica-" + (replicaKeys.size() + 1);
+
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(replicaKey);
+            replica.setJdbcUrl(replicaProperties.getUrl());
+            replica.setUsername(replicaProperties.getUsername());
+            replica.setPassword(replicaProperties.getPassword());
+            replica.setDriverClassName(replicaProperties.getDriverClassName() != null
+                    ? replicaProperties.getDriverClassName()
+                    : dataSourceProperties.determineDriverClassName());
+            replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(registry ->
+                    replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+            targetDataSources.put(replicaKey, replica);
+            replicaKeys.add(replicaKey);
+            replicas.add(replica);
+        }
+
+        ReadOnlyRoutingDataSource routingDataSource = new ReadOnlyRoutingDataSource(replicaKeys, replicas);
+        routingDataSource.setTargetDataSources(targetDataSources);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+
+        return routingDataSource;
+    }
+
+    @Primary
+    @Bean
+    public DataSource dataSource(ReadOnlyRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+}
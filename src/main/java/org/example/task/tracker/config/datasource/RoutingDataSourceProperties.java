@@ -0,0 +1,48 @@
+package org.example.task.tracker.config.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки маршрутизации соединений (блок task-tracker.datasource в application.yml): список реплик
+ * для транзакций только для чтения и окно read-your-writes. Основная база данных по-прежнему задается
+ * стандартным блоком spring.datasource.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "task-tracker.datasource")
+public class RoutingDataSourceProperties {
+
+    /**
+     * Реплики, между которыми по кругу распределяются транзакции только для чтения. Если список пуст,
+     * все запросы выполняются на основной базе данных.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Время после успешного изменяющего запроса клиента, в течение которого его запросы на чтение
+     * выполняются на основной базе данных. Нулевое значение отключает окно.
+     */
+    private Duration readYourWritesWindow = Duration.ZERO;
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        private int maximumPoolSize = 10;
+
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.example.task.tracker.config.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Класс MetricsConfig подключает к Hibernate счетчик SQL-запросов {@link SqlStatementCounter}.
+ * <p>
+ * Остальные метрики публикуются автоконфигурацией Spring Boot и доступны по /actuator/prometheus:
+ * длительность запросов по эндпоинтам (http.server.requests), статистика сессий Hibernate (hibernate.*),
+ * ожидание соединения из пула (hikaricp.connections.acquire), а также метрики приложения
+ * {@value #DTO_MAPPING_TIMER}, {@value #BOARD_ENCODING_TIMER} и
+ * {@value RequestMetricsInterceptor#SQL_STATEMENTS_SUMMARY}. Гистограммы перцентилей включаются
+ * в management.metrics.distribution.percentiles-histogram.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String DTO_MAPPING_TIMER = "task_tracker.dto.mapping";
+
+    public static final String BOARD_ENCODING_TIMER = "task_tracker.board.encoding";
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return hibernateProperties -> hibernateProperties.put(
+                AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter
+        );
+    }
+
+}
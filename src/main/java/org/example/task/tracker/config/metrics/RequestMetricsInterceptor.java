@@ -0,0 +1,91 @@
+package org.example.task.tracker.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Перехватчик запросов, который считает SQL-запросы каждого HTTP-запроса (метрика
+ * {@value #SQL_STATEMENTS_SUMMARY} с тегами method и uri) и пишет в журнал запросы, выполнявшиеся дольше
+ * task-tracker.metrics.slow-request-threshold, вместе с количеством выполненных ими SQL-запросов.
+ * Длительность самих запросов по эндпоинтам измеряет стандартная метрика http.server.requests.
+ */
+@Log4j2
+@Component
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String SQL_STATEMENTS_SUMMARY = "task_tracker.http.sql.statements";
+
+    private static final String STARTED_AT_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".startedAt";
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration slowRequestThreshold;
+
+    public RequestMetricsInterceptor(
+            SqlStatementCounter sqlStatementCounter,
+            MeterRegistry meterRegistry,
+            @Value("${task-tracker.metrics.slow-request-threshold}") Duration slowRequestThreshold) {
+
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.meterRegistry = meterRegistry;
+        this.slowRequestThreshold = slowRequestThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        request.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+        sqlStatementCounter.start();
+
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(
+            HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        sqlStatementCounter.stop();
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+
+        long statements = sqlStatementCounter.stop();
+
+        if (statements < 0) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        DistributionSummary.builder(SQL_STATEMENTS_SUMMARY)
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - (long) request.getAttribute(STARTED_AT_ATTRIBUTE));
+
+        if (elapsed.compareTo(slowRequestThreshold) > 0) {
+            log.warn(
+                    "Slow request {} {} ({}): {} ms, {} SQL statements, status {}",
+                    request.getMethod(), request.getRequestURI(), uri,
+                    elapsed.toMillis(), statements, response.getStatus()
+            );
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package org.example.task.tracker.config.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Считает SQL-запросы, которые Hibernate подготавливает в текущем потоке между {@link #start()}
+ * и {@link #stop()}. Пакет JDBC (batch) считается одним запросом. Запросы вне подсчета
+ * (фоновые задачи, потоковая выдача в другом потоке) не учитываются.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNTER = new ThreadLocal<>();
+
+    public void start() {
+        COUNTER.set(new long[1]);
+    }
+
+    /**
+     * Завершает подсчет в текущем потоке и возвращает количество запросов, или -1, если подсчет не начинался.
+     */
+    public long stop() {
+
+        long[] counter = COUNTER.get();
+        COUNTER.remove();
+
+        return counter == null ? -1 : counter[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+
+        long[] counter = COUNTER.get();
+
+        if (counter != null) {
+            counter[0]++;
+        }
+
+        return sql;
+    }
+
+}
@@ -1,6 +1,15 @@
 package org.example.task.tracker.exceptions;
 
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.extern.log4j.Log4j2;
+import org.example.task.tracker.store.entities.TaskStateEntity;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -37,4 +46,82 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
         log.error("Exception during execution of application", exception);
         return handleException(exception, request);
     }
+
+    /**
+     * Обработчик конфликта версий или взаимной блокировки, который остался после всех повторов запроса. Возвращает
+     * HTTP-ответ 409 Conflict: клиент может перечитать данные и повторить изменение.
+     *
+     * @param exception Исключение конфликта версий или взаимной блокировки.
+     * @return HTTP-ответ с информацией об ошибке в формате ErrorDto.
+     */
+    @ExceptionHandler({OptimisticLockingFailureException.class, PessimisticLockingFailureException.class})
+    public ResponseEntity<ErrorDto> concurrencyFailure(ConcurrencyFailureException exception) {
+        log.warn("Concurrent modification conflict", exception);
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorDto
+                        .builder()
+                        .error(HttpStatus.CONFLICT.getReasonPhrase())
+                        .errorDescription("The resource was modified concurrently, please retry.")
+                        .build());
+    }
+
+    /**
+     * Обработчик переполнения очереди задач ограниченного пула потоков, например планировщика реактивного
+     * API чтения. Возвращает HTTP-ответ 503 Service Unavailable: клиент может повторить запрос позже.
+     *
+     * @param exception Исключение отказа в выполнении задачи.
+     * @return HTTP-ответ с информацией об ошибке в формате ErrorDto.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorDto> rejectedExecution(RejectedExecutionException exception) {
+        log.warn("Task queue is full", exception);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorDto
+                        .builder()
+                        .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                        .errorDescription("The server is overloaded, please retry later.")
+                        .build());
+    }
+
+    /**
+     * Обработчик нарушения ограничений базы данных. Нарушение уникальности имени колонки в проекте
+     * возможно, когда две транзакции одновременно создают или переименовывают колонки с одинаковым
+     * именем и обе проходят проверку имени до фиксации; такой запрос получает HTTP-ответ 400 Bad Request,
+     * как и при обычной проверке. Остальные нарушения обрабатываются как непредвиденные исключения.
+     *
+     * @param exception Исключение нарушения ограничения.
+     * @param request   Запрос, связанный с исключением.
+     * @return HTTP-ответ с информацией об ошибке.
+     * @throws Exception Если происходит ошибка при обработке исключения.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Object> dataIntegrityViolation(
+            DataIntegrityViolationException exception, WebRequest request) throws Exception {
+
+        if (!isViolationOf(exception, TaskStateEntity.NORMALIZED_NAME_CONSTRAINT)) {
+            return exception(exception, request);
+        }
+
+        log.warn("Concurrent task state name conflict", exception);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ErrorDto
+                        .builder()
+                        .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                        .errorDescription("Task state name already exist.")
+                        .build());
+    }
+
+    private static boolean isViolationOf(Throwable exception, String constraintName) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException constraintViolation
+                    && constraintViolation.getConstraintName() != null
+                    && constraintViolation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraintName)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
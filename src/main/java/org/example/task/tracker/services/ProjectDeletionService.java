@@ -0,0 +1,116 @@
+package org.example.task.tracker.services;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.log4j.Log4j2;
+import org.example.task.tracker.exceptions.NotFoundExceptions;
+import org.example.task.tracker.store.repositories.ProjectRepository;
+import org.example.task.tracker.store.repositories.TaskStateRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Класс ProjectDeletionService удаляет проекты с большим количеством задач в фоне.
+ * <p>
+ * Сначала проект отмечается как удаляемый ({@link ProjectService#markProjectDeleting(Long)}): с этого
+ * момента изменения проекта и его доски отклоняются, а повторный запрос на удаление ничего не делает.
+ * Затем задачи удаляются частями по task-tracker.project-deletion.chunk-size в отдельных коротких
+ * транзакциях ({@link TaskService#deleteTasksChunk(Long, Long, int)}), поэтому блокировки строк держатся
+ * недолго, а журнал транзакций не разрастается. Каждая часть увеличивает версию проекта, обновляет
+ * счетчики и публикует изменение колонки, поэтому доска, ее ETag, outbox и подписчики ленты видят,
+ * как доска постепенно пустеет. Когда задач не остается, проект удаляется обычным
+ * {@link ProjectService#deleteProject(Long)}.
+ * <p>
+ * Удаление, прерванное остановкой приложения, продолжается после запуска.
+ */
+@Log4j2
+@Service
+public class ProjectDeletionService implements DisposableBean {
+
+    private final ProjectService projectService;
+
+    private final TaskService taskService;
+
+    private final ProjectRepository projectRepository;
+
+    private final TaskStateRepository taskStateRepository;
+
+    private final ExecutorService deletionExecutor;
+
+    private final int chunkSize;
+
+    public ProjectDeletionService(
+            ProjectService projectService,
+            TaskService taskService,
+            ProjectRepository projectRepository,
+            TaskStateRepository taskStateRepository,
+            @Value("${task-tracker.project-deletion.threads}") int threads,
+            @Value("${task-tracker.project-deletion.chunk-size}") int chunkSize) {
+
+        this.projectService = projectService;
+        this.taskService = taskService;
+        this.projectRepository = projectRepository;
+        this.taskStateRepository = taskStateRepository;
+        this.deletionExecutor = Executors.newFixedThreadPool(
+                threads, new CustomizableThreadFactory("project-deletion-")
+        );
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Отмечает проект как удаляемый, запускает фоновое удаление и сразу возвращает управление.
+     *
+     * @throws NotFoundExceptions если проект с указанным идентификатором не найден.
+     */
+    public void deleteProjectAsync(Long projectId) {
+        if (projectService.markProjectDeleting(projectId)) {
+            deletionExecutor.execute(() -> deleteProject(projectId));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeDeletions() {
+        projectRepository.findAllIdsByDeletingTrue().forEach(projectId -> {
+            log.info("Resuming deletion of project {}", projectId);
+            deletionExecutor.execute(() -> deleteProject(projectId));
+        });
+    }
+
+    private void deleteProject(Long projectId) {
+        try {
+            deleteTasksInChunks(projectId);
+            projectService.deleteProject(projectId);
+            log.info("Project {} deleted", projectId);
+        } catch (NotFoundExceptions e) {
+            log.info("Project {} was deleted concurrently", projectId);
+        } catch (RuntimeException e) {
+            log.error("Failed to delete project {}", projectId, e);
+        }
+    }
+
+    private void deleteTasksInChunks(Long projectId) {
+
+        long deleted = 0;
+
+        for (Long taskStateId : taskStateRepository.findAllIdsByProjectId(projectId)) {
+
+            int chunkDeleted;
+            do {
+                chunkDeleted = taskService.deleteTasksChunk(projectId, taskStateId, chunkSize);
+                deleted += chunkDeleted;
+            } while (chunkDeleted == chunkSize);
+        }
+
+        log.info("Deleted {} tasks of project {}, deleting the project", deleted, projectId);
+    }
+
+    @Override
+    public void destroy() {
+        deletionExecutor.shutdownNow();
+    }
+
+}
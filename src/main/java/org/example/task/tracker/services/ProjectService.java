@@ -0,0 +1,278 @@
+package org.example.task.tracker.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.task.tracker.api.controllers.helpers.ControllerHelper;
+import org.example.task.tracker.api.controllers.helpers.ProjectLookupCache;
+import org.example.task.tracker.api.dto.ProjectDto;
+import org.example.task.tracker.api.factories.ProjectDtoFactory;
+import org.example.task.tracker.config.RetryOnConflict;
+import org.example.task.tracker.config.datasource.ReadYourWritesWindow;
+import org.example.task.tracker.exceptions.BadRequestExceptions;
+import org.example.task.tracker.exceptions.NotFoundExceptions;
+import org.example.task.tracker.services.events.BoardChangedEvent;
+import org.example.task.tracker.store.entities.ProjectEntity;
+import org.example.task.tracker.store.repositories.ProjectRepository;
+import org.example.task.tracker.store.repositories.ProjectRepository.ProjectChangeVersion;
+import org.example.task.tracker.store.repositories.TaskRepository;
+import org.example.task.tracker.store.repositories.TaskStateRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Класс ProjectService содержит операции над проектами, которые выполняются в транзакции. По умолчанию
+ * методы выполняются в транзакции только для чтения: Hibernate не делает снимков загруженных сущностей
+ * для проверки изменений и не сбрасывает контекст перед фиксацией. Изменяющие методы явно открывают
+ * транзакцию для записи.
+ * <p>
+ * Все методы возвращают DTO, поэтому транзакция и соединение с базой данных освобождаются
+ * до сериализации ответа.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Service
+public class ProjectService {
+
+    ProjectRepository projectRepository;
+
+    TaskStateRepository taskStateRepository;
+
+    TaskRepository taskRepository;
+
+    ProjectDtoFactory projectDtoFactory;
+
+    ControllerHelper controllerHelper;
+
+    ProjectLookupCache projectLookupCache;
+
+    EntityManager entityManager;
+
+    ApplicationEventPublisher eventPublisher;
+
+    public ProjectDto getProject(Long projectId) {
+        return projectDtoFactory.makeProjectDto(controllerHelper.getProjectOrThrowException(projectId));
+    }
+
+    /**
+     * Возвращает версию и время последнего изменения проекта одним запросом по первичному ключу.
+     * Используется для ответа на условные запросы без загрузки проекта и его доски.
+     */
+    public ProjectChangeVersion getChangeVersion(Long projectId) {
+        return projectRepository
+                .findChangeVersionById(projectId)
+                .orElseThrow(() -> new NotFoundExceptions(String.format(
+                        "Project with id \"%s\" doesn't exists.", projectId
+                )));
+    }
+
+    /**
+     * Проверяет существование проекта на основной базе данных, минуя кэш поиска проектов и реплики:
+     * удаление проекта, зафиксированное только что, должно быть видно сразу.
+     */
+    public boolean existsProjectOnPrimary(Long projectId) {
+        return ReadYourWritesWindow.callOnPrimary(() -> projectRepository.existsById(projectId));
+    }
+
+    public List<ProjectDto> findProjects(Optional<String> optionalPrefixName) {
+        try (Stream<ProjectEntity> projectStream = streamProjects(optionalPrefixName)) {
+            return projectStream
+                    .map(projectDtoFactory::makeProjectDto)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public List<ProjectDto> findProjectsPage(Optional<String> optionalPrefixName, Long afterId, int limit) {
+
+        List<ProjectEntity> projects = optionalPrefixName
+                .map(prefixName -> projectRepository.findAllByNamePrefixAndIdGreaterThan(
+                        ProjectRepository.makeNamePrefixPattern(prefixName), afterId, limit
+                ))
+                .orElseGet(() -> projectRepository
+                        .findAllByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit)));
+
+        return projects
+                .stream()
+                .map(projectDtoFactory::makeProjectDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Передает проекты обработчику по одному по мере чтения из базы данных. Прочитанные сущности
+     * сразу отсоединяются от контекста, поэтому расход памяти не зависит от количества проектов.
+     */
+    public void forEachProject(Optional<String> optionalPrefixName, Consumer<ProjectDto> projectConsumer) {
+        try (Stream<ProjectEntity> projectStream = streamProjects(optionalPrefixName)) {
+            projectStream.forEach(project -> {
+                projectConsumer.accept(projectDtoFactory.makeProjectDto(project));
+                entityManager.detach(project);
+            });
+        }
+    }
+
+    public List<ProjectDto> searchProjects(String prefixName, int limit) {
+        return projectRepository
+                .findTopByNamePrefix(ProjectRepository.makeNamePrefixPattern(prefixName), limit)
+                .stream()
+                .map(projectDtoFactory::makeProjectDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public ProjectDto createProject(String projectName) {
+
+        projectRepository
+                .findByName(projectName)
+                .ifPresent(project -> {
+                    throw new BadRequestExceptions(String.format("Project \"%s\" alredy exists.", projectName));
+                });
+
+        ProjectEntity project = projectRepository.saveAndFlush(
+                ProjectEntity.builder()
+                        .name(projectName)
+                        .build()
+        );
+
+        projectLookupCache.evictProject(project.getId());
+
+        eventPublisher.publishEvent(BoardChangedEvent.ofProject(
+                project.getId(), BoardChangedEvent.Type.PROJECT_CREATED
+        ));
+
+        return projectDtoFactory.makeProjectDto(project);
+    }
+
+    @Transactional
+    public ProjectDto createOrUpdateProject(Optional<Long> optionalProjectId, Optional<String> optionalProjectName) {
+
+        final ProjectEntity project = optionalProjectId
+                .map(controllerHelper::getProjectOrThrowException)
+                .orElseGet(() -> ProjectEntity.builder().build());
+
+        controllerHelper.checkProjectIsNotDeleting(project);
+
+        optionalProjectName
+                .ifPresent(projectName -> {
+                    projectRepository
+                            .findByName(projectName)
+                            .filter(anotherProject -> !Objects.equals(anotherProject.getId(), project.getId()))
+                            .ifPresent(anotherProject -> {
+                                throw new BadRequestExceptions(String.format("Project \"%s\" alredy exists.", projectName)
+                                );
+                            });
+                    project.setName(projectName);
+                });
+
+        final ProjectEntity savedProject = projectRepository.saveAndFlush(project);
+
+        projectLookupCache.evictProject(savedProject.getId());
+
+        if (optionalProjectId.isEmpty() || optionalProjectName.isPresent()) {
+            eventPublisher.publishEvent(BoardChangedEvent.ofProject(
+                    savedProject.getId(),
+                    optionalProjectId.isEmpty()
+                            ? BoardChangedEvent.Type.PROJECT_CREATED
+                            : BoardChangedEvent.Type.PROJECT_RENAMED
+            ));
+        }
+
+        return projectDtoFactory.makeProjectDto(savedProject);
+    }
+
+    @Transactional
+    public ProjectDto editProject(Long projectId, String projectName) {
+
+        ProjectEntity project = controllerHelper.getProjectOrThrowException(projectId);
+
+        controllerHelper.checkProjectIsNotDeleting(project);
+
+        projectRepository
+                .findByName(projectName)
+                .filter(anotherProject -> !Objects.equals(anotherProject.getId(), projectId))
+                .ifPresent(anotherProject -> {
+                    throw new BadRequestExceptions(String.format("Project \"%s\" alredy exists.", projectName));
+                });
+
+        project.setName(projectName);
+
+        project = projectRepository.saveAndFlush(project);
+
+        projectLookupCache.evictProject(projectId);
+
+        eventPublisher.publishEvent(BoardChangedEvent.ofProject(projectId, BoardChangedEvent.Type.PROJECT_RENAMED));
+
+        return projectDtoFactory.makeProjectDto(project);
+    }
+
+    /**
+     * Отмечает проект как удаляемый в фоне. Отметка хранится в строке проекта, поэтому изменения проекта
+     * и его доски отклоняются на всех экземплярах приложения, а прерванное удаление продолжается
+     * после перезапуска.
+     *
+     * @return false, если проект уже удаляется.
+     * @throws NotFoundExceptions если проект с указанным идентификатором не найден.
+     */
+    @RetryOnConflict
+    @Transactional
+    public boolean markProjectDeleting(Long projectId) {
+
+        ProjectEntity project = controllerHelper.getProjectForDeletionOrThrowException(projectId);
+
+        if (Boolean.TRUE.equals(project.getDeleting())) {
+            return false;
+        }
+
+        project.setDeleting(true);
+
+        return true;
+    }
+
+    /**
+     * Удаляет проект вместе с колонками и задачами тремя запросами DELETE (задачи, колонки, проект)
+     * в одной транзакции, не загружая граф объектов. Hibernate при массовом удалении сам очищает
+     * затронутые регионы кэша второго уровня. Для проектов с очень большим количеством задач
+     * используется {@link ProjectDeletionService}, который предварительно удаляет задачи частями.
+     * <p>
+     * Перед удалением версия проекта увеличивается сразу, а не при фиксации, и строка проекта остается
+     * заблокированной до конца транзакции. Параллельное изменение доски, начатое до удаления, не сможет
+     * зафиксироваться и будет повторено, а повтор получит 404 Not Found; добавленная им задача
+     * не помешает удалению колонок.
+     *
+     * @throws NotFoundExceptions если проект с указанным идентификатором не найден.
+     */
+    @RetryOnConflict
+    @Transactional
+    public void deleteProject(Long projectId) {
+
+        ProjectEntity project = controllerHelper.getProjectForDeletionOrThrowException(projectId);
+
+        entityManager.lock(project, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+
+        taskRepository.deleteAllByProjectId(projectId);
+        taskStateRepository.deleteAllByProjectId(projectId);
+        projectRepository.deleteProjectById(projectId);
+
+        projectLookupCache.evictProject(projectId);
+
+        eventPublisher.publishEvent(BoardChangedEvent.ofProject(projectId, BoardChangedEvent.Type.PROJECT_DELETED));
+    }
+
+    private Stream<ProjectEntity> streamProjects(Optional<String> optionalPrefixName) {
+        return optionalPrefixName
+                .map(ProjectRepository::makeNamePrefixPattern)
+                .map(projectRepository::streamAllByNamePrefix)
+                .orElseGet(projectRepository::streamAllBy);
+    }
+
+}
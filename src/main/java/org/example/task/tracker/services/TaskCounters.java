@@ -0,0 +1,118 @@
+package org.example.task.tracker.services;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.task.tracker.store.entities.ProjectEntity;
+import org.example.task.tracker.store.repositories.TaskStateRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Поддерживает счетчики задач колонок и проекта (tasks_count и last_task_created_at). Каждая операция,
+ * которая добавляет, переносит или удаляет задачи, собирает изменения в {@link Delta} и применяет их
+ * методом {@link #apply(ProjectEntity, Delta)} в той же транзакции, что и изменение самих задач.
+ * <p>
+ * Если в колонку задачи только добавлялись, время самой новой задачи продвигается без чтения задач.
+ * Если задачи удалялись или переносились из колонки, время пересчитывается по оставшимся задачам
+ * колонки, а после удаления задач из проекта время проекта пересчитывается по его колонкам.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+@Component
+public class TaskCounters {
+
+    TaskStateRepository taskStateRepository;
+
+    /**
+     * Применяет изменения к счетчикам. Проект должен быть заблокирован для изменения
+     * ({@code ControllerHelper.getProjectForUpdateOrThrowException}) в текущей транзакции.
+     */
+    public void apply(ProjectEntity project, Delta delta) {
+
+        delta.taskStates.forEach((taskStateId, taskStateDelta) -> {
+            if (taskStateDelta.removed > 0) {
+                taskStateRepository.removeTasks(taskStateId, taskStateDelta.removed - taskStateDelta.added);
+            } else if (taskStateDelta.added > 0) {
+                taskStateRepository.addTasks(taskStateId, taskStateDelta.added, taskStateDelta.lastCreatedAt);
+            }
+        });
+
+        project.setTasksCount(project.getTasksCount() + delta.added - delta.removed);
+
+        if (delta.removed > 0) {
+            project.setLastTaskCreatedAt(taskStateRepository.findLastTaskCreatedAtByProjectId(project.getId()));
+        } else {
+            project.setLastTaskCreatedAt(max(project.getLastTaskCreatedAt(), delta.lastCreatedAt));
+        }
+    }
+
+    private static Instant max(Instant first, Instant second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.isAfter(second) ? first : second;
+    }
+
+    /**
+     * Изменения задач проекта, сгруппированные по колонкам.
+     */
+    public static final class Delta {
+
+        final Map<Long, TaskStateDelta> taskStates = new HashMap<>();
+
+        long added;
+
+        long removed;
+
+        Instant lastCreatedAt;
+
+        public Delta taskCreated(Long taskStateId, Instant createdAt) {
+            getTaskStateDelta(taskStateId).add(createdAt);
+            added++;
+            lastCreatedAt = max(lastCreatedAt, createdAt);
+            return this;
+        }
+
+        public Delta taskMoved(Long fromTaskStateId, Long toTaskStateId, Instant createdAt) {
+            if (!fromTaskStateId.equals(toTaskStateId)) {
+                getTaskStateDelta(fromTaskStateId).removed++;
+                getTaskStateDelta(toTaskStateId).add(createdAt);
+            }
+            return this;
+        }
+
+        public Delta tasksDeleted(Long taskStateId, long count) {
+            getTaskStateDelta(taskStateId).removed += count;
+            removed += count;
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return taskStates.isEmpty();
+        }
+
+        private TaskStateDelta getTaskStateDelta(Long taskStateId) {
+            return taskStates.computeIfAbsent(taskStateId, id -> new TaskStateDelta());
+        }
+
+    }
+
+    private static final class TaskStateDelta {
+
+        long added;
+
+        long removed;
+
+        Instant lastCreatedAt;
+
+        void add(Instant createdAt) {
+            added++;
+            lastCreatedAt = max(lastCreatedAt, createdAt);
+        }
+
+    }
+
+}
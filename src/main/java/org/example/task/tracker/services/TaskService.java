@@ -0,0 +1,328 @@
+package org.example.task.tracker.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.task.tracker.api.controllers.helpers.ControllerHelper;
+import org.example.task.tracker.api.dto.ImportTaskDto;
+import org.example.task.tracker.api.dto.TaskDto;
+import org.example.task.tracker.api.factories.TaskDtoFactory;
+import org.example.task.tracker.config.RetryOnConflict;
+import org.example.task.tracker.exceptions.BadRequestExceptions;
+import org.example.task.tracker.exceptions.NotFoundExceptions;
+import org.example.task.tracker.services.events.BoardChangedEvent;
+import org.example.task.tracker.store.entities.ProjectEntity;
+import org.example.task.tracker.store.entities.TaskEntity;
+import org.example.task.tracker.store.entities.TaskStateEntity;
+import org.example.task.tracker.store.repositories.ProjectRepository;
+import org.example.task.tracker.store.repositories.TaskRepository;
+import org.example.task.tracker.store.repositories.TaskStateRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Класс TaskService содержит операции над задачами проекта: постраничное чтение, поиск, создание, перенос,
+ * удаление, импорт и экспорт. Все изменения задач обновляют счетчики колонок и проекта через {@link TaskCounters}.
+ * По умолчанию методы выполняются в транзакции только для чтения; импорт записывает каждый пакет задач
+ * в собственной короткой транзакции для записи.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Service
+public class TaskService {
+
+    TaskRepository taskRepository;
+
+    TaskStateRepository taskStateRepository;
+
+    ProjectRepository projectRepository;
+
+    TaskDtoFactory taskDtoFactory;
+
+    ControllerHelper controllerHelper;
+
+    ObjectMapper objectMapper;
+
+    EntityManager entityManager;
+
+    ApplicationEventPublisher eventPublisher;
+
+    TaskCounters taskCounters;
+
+    /**
+     * Возвращает задачи колонки постранично: не более limit задач с идентификатором больше afterId,
+     * отсортированных по идентификатору. Запрос выполняется по индексу (task_state_id, id).
+     */
+    public List<TaskDto> getTasks(Long taskStateId, Long afterId, int limit) {
+
+        if (!taskStateRepository.existsById(taskStateId)) {
+            throw new NotFoundExceptions(String.format("Task state with \"%s\" id doesn't exist.", taskStateId));
+        }
+
+        return taskRepository
+                .findAllByTaskStateIdAndIdGreaterThanOrderByIdAsc(taskStateId, afterId, PageRequest.of(0, limit))
+                .stream()
+                .map(taskDtoFactory::makeTaskDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ищет задачи проекта по словам из названия и описания и возвращает страницу результатов,
+     * упорядоченных по релевантности.
+     */
+    public List<TaskDto> searchTasks(Long projectId, String query, int offset, int limit) {
+
+        if (!projectRepository.existsById(projectId)) {
+            throw new NotFoundExceptions(String.format("Project with id \"%s\" doesn't exists.", projectId));
+        }
+
+        return taskRepository
+                .searchByProjectId(projectId, query, offset, limit)
+                .stream()
+                .map(taskDtoFactory::makeTaskDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Записывает пакет импортируемых задач в одной транзакции. Пакет проверяется целиком до записи:
+     * каждая задача должна иметь имя и ссылаться на колонку проекта. Версия проекта увеличивается,
+     * поэтому при конфликте с параллельным изменением доски пакет повторяется целиком.
+     *
+     * @return Количество записанных задач.
+     */
+    @RetryOnConflict
+    @Transactional
+    public int importTasks(Long projectId, List<ImportTaskDto> importTasks) {
+
+        ProjectEntity project = controllerHelper.getProjectForUpdateOrThrowException(projectId);
+
+        Set<Long> taskStateIds = new HashSet<>(taskStateRepository.findAllIdsByProjectId(projectId));
+
+        for (ImportTaskDto importTask : importTasks) {
+
+            if (importTask.getTaskStateId() == null || !taskStateIds.contains(importTask.getTaskStateId())) {
+                throw new BadRequestExceptions(String.format(
+                        "Task state with \"%s\" id doesn't exist in project \"%s\".",
+                        importTask.getTaskStateId(),
+                        projectId
+                ));
+            }
+
+            if (importTask.getName() == null || importTask.getName().isBlank()) {
+                throw new BadRequestExceptions("Task name can't be empty.");
+            }
+        }
+
+        TaskCounters.Delta delta = new TaskCounters.Delta();
+        Set<Long> changedTaskStateIds = new HashSet<>();
+
+        for (ImportTaskDto importTask : importTasks) {
+
+            TaskEntity task = taskRepository.save(
+                    TaskEntity.builder()
+                            .name(importTask.getName())
+                            .description(importTask.getDescription() == null ? "" : importTask.getDescription())
+                            .taskState(entityManager.getReference(TaskStateEntity.class, importTask.getTaskStateId()))
+                            .build()
+            );
+
+            delta.taskCreated(importTask.getTaskStateId(), task.getCreatedAt());
+            changedTaskStateIds.add(importTask.getTaskStateId());
+        }
+
+        taskCounters.apply(project, delta);
+
+        changedTaskStateIds.forEach(taskStateId -> eventPublisher.publishEvent(
+                BoardChangedEvent.ofTaskState(projectId, BoardChangedEvent.Type.TASKS_CHANGED, taskStateId)
+        ));
+
+        return importTasks.size();
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public TaskDto createTask(Long taskStateId, String taskName, Optional<String> optionalTaskDescription) {
+
+        TaskStateEntity taskState = getTaskStateOrThrowException(taskStateId);
+
+        ProjectEntity project = controllerHelper.getProjectForUpdateOrThrowException(taskState.getProject().getId());
+
+        TaskEntity task = taskRepository.save(
+                TaskEntity.builder()
+                        .name(taskName)
+                        .description(optionalTaskDescription.orElse(""))
+                        .taskState(taskState)
+                        .build()
+        );
+
+        taskCounters.apply(project, new TaskCounters.Delta().taskCreated(taskStateId, task.getCreatedAt()));
+
+        eventPublisher.publishEvent(BoardChangedEvent.ofTaskState(
+                project.getId(), BoardChangedEvent.Type.TASKS_CHANGED, taskStateId
+        ));
+
+        return taskDtoFactory.makeTaskDto(task);
+    }
+
+    /**
+     * Переносит задачу в другую колонку того же проекта.
+     */
+    @RetryOnConflict
+    @Transactional
+    public TaskDto moveTask(Long taskId, Long taskStateId) {
+
+        TaskEntity task = getTaskOrThrowException(taskId);
+        TaskStateEntity taskState = getTaskStateOrThrowException(taskStateId);
+
+        Long projectId = task.getTaskState().getProject().getId();
+        Long previousTaskStateId = task.getTaskState().getId();
+
+        if (!taskState.getProject().getId().equals(projectId)) {
+            throw new BadRequestExceptions(String.format(
+                    "Task state with \"%s\" id doesn't exist in project \"%s\".", taskStateId, projectId
+            ));
+        }
+
+        ProjectEntity project = controllerHelper.getProjectForUpdateOrThrowException(projectId);
+
+        task.setTaskState(taskState);
+
+        taskCounters.apply(
+                project,
+                new TaskCounters.Delta().taskMoved(previousTaskStateId, taskStateId, task.getCreatedAt())
+        );
+
+        eventPublisher.publishEvent(BoardChangedEvent.ofTaskState(
+                projectId, BoardChangedEvent.Type.TASKS_CHANGED, previousTaskStateId
+        ));
+        eventPublisher.publishEvent(BoardChangedEvent.ofTaskState(
+                projectId, BoardChangedEvent.Type.TASKS_CHANGED, taskStateId
+        ));
+
+        return taskDtoFactory.makeTaskDto(task);
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public void deleteTask(Long taskId) {
+
+        TaskEntity task = getTaskOrThrowException(taskId);
+
+        Long taskStateId = task.getTaskState().getId();
+
+        ProjectEntity project = controllerHelper.getProjectForUpdateOrThrowException(
+                task.getTaskState().getProject().getId()
+        );
+
+        taskRepository.delete(task);
+
+        taskCounters.apply(project, new TaskCounters.Delta().tasksDeleted(taskStateId, 1));
+
+        eventPublisher.publishEvent(BoardChangedEvent.ofTaskState(
+                project.getId(), BoardChangedEvent.Type.TASKS_CHANGED, taskStateId
+        ));
+    }
+
+    /**
+     * Удаляет не более limit задач колонки удаляемого проекта в одной короткой транзакции и обновляет
+     * счетчики, поэтому во время фонового удаления проекта доска и ее счетчики остаются согласованными.
+     *
+     * @return Количество удаленных задач.
+     */
+    @RetryOnConflict
+    @Transactional
+    public int deleteTasksChunk(Long projectId, Long taskStateId, int limit) {
+
+        List<Long> taskIds = taskRepository.findIdsByTaskStateId(taskStateId, PageRequest.ofSize(limit));
+
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+
+        ProjectEntity project = controllerHelper.getProjectForDeletionOrThrowException(projectId);
+
+        int deleted = taskRepository.deleteAllByIdIn(taskIds);
+
+        taskCounters.apply(project, new TaskCounters.Delta().tasksDeleted(taskStateId, deleted));
+
+        eventPublisher.publishEvent(BoardChangedEvent.ofTaskState(
+                projectId, BoardChangedEvent.Type.TASKS_CHANGED, taskStateId
+        ));
+
+        return deleted;
+    }
+
+    /**
+     * Потоково записывает колонки проекта в порядке отображения вместе с их задачами в формате NDJSON
+     * (по одной колонке на строку). Задачи читаются курсором и отсоединяются после записи, поэтому
+     * расход памяти не зависит от количества задач.
+     */
+    public void exportTasks(Long projectId, OutputStream outputStream) {
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+
+            generator.setRootValueSeparator(null);
+
+            for (TaskStateEntity taskState : taskStateRepository.findAllByProjectIdOrderByOrdinalAsc(projectId)) {
+                writeTaskState(generator, taskState);
+                generator.writeRaw('\n');
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private TaskEntity getTaskOrThrowException(Long taskId) {
+        return taskRepository
+                .findById(taskId)
+                .orElseThrow(() -> new NotFoundExceptions(String.format("Task with \"%s\" id doesn't exist.", taskId)));
+    }
+
+    private TaskStateEntity getTaskStateOrThrowException(Long taskStateId) {
+        return taskStateRepository
+                .findById(taskStateId)
+                .orElseThrow(() -> new NotFoundExceptions(String.format(
+                        "Task state with \"%s\" id doesn't exist.", taskStateId
+                )));
+    }
+
+    private void writeTaskState(JsonGenerator generator, TaskStateEntity taskState) throws IOException {
+
+        generator.writeStartObject();
+        generator.writeNumberField("id", taskState.getId());
+        generator.writeStringField("name", taskState.getName());
+        generator.writeObjectField("created_at", taskState.getCreatedAt());
+        generator.writeArrayFieldStart("tasks");
+
+        try (Stream<TaskEntity> taskStream = taskRepository.streamAllByTaskStateIdOrderByIdAsc(taskState.getId())) {
+            taskStream.forEach(task -> {
+                try {
+                    generator.writeObject(taskDtoFactory.makeTaskDto(task));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                entityManager.detach(task);
+            });
+        }
+
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+}
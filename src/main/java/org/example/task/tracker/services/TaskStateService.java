@@ -0,0 +1,253 @@
+package org.example.task.tracker.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.task.tracker.api.controllers.TaskStateController;
+import org.example.task.tracker.api.controllers.helpers.ControllerHelper;
+import org.example.task.tracker.api.dto.BoardStatsDto;
+import org.example.task.tracker.api.dto.TaskStateDto;
+import org.example.task.tracker.api.factories.TaskStateDtoFactory;
+import org.example.task.tracker.config.RetryOnConflict;
+import org.example.task.tracker.exceptions.BadRequestExceptions;
+import org.example.task.tracker.exceptions.NotFoundExceptions;
+import org.example.task.tracker.services.events.BoardChangedEvent;
+import org.example.task.tracker.store.entities.ProjectEntity;
+import org.example.task.tracker.store.entities.TaskStateEntity;
+import org.example.task.tracker.store.ordering.TaskStateOrdering;
+import org.example.task.tracker.store.repositories.TaskRepository;
+import org.example.task.tracker.store.repositories.TaskStateRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Класс TaskStateService содержит изменяющие операции над колонками проекта. Каждая операция
+ * выполняется в короткой транзакции для записи и при конфликте версий повторяется целиком
+ * ({@link RetryOnConflict}). Статистика доски читается из счетчиков, а сама доска - через
+ * {@link org.example.task.tracker.services.snapshots.BoardSnapshotService}.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Service
+public class TaskStateService {
+
+    TaskStateRepository taskStateRepository;
+
+    TaskRepository taskRepository;
+
+    TaskStateDtoFactory taskStateDtoFactory;
+
+    TaskStateOrdering taskStateOrdering;
+
+    ControllerHelper controllerHelper;
+
+    ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Возвращает статистику доски из счетчиков проекта и колонок: два запроса, стоимость которых
+     * зависит от количества колонок, но не от количества задач.
+     */
+    public BoardStatsDto getBoardStats(Long projectId) {
+        return makeBoardStatsDto(controllerHelper.getProjectOrThrowException(projectId));
+    }
+
+    /**
+     * Переставляет колонки проекта в порядке taskStateIds одной транзакцией. Список должен быть
+     * перестановкой всех колонок проекта: каждая колонка указана ровно один раз. Измененные позиции
+     * записываются одним пакетом ({@link TaskStateOrdering#reorder}).
+     *
+     * @return Статистика доски с колонками в новом порядке.
+     */
+    @RetryOnConflict
+    @Transactional
+    public BoardStatsDto reorderTaskStates(Long projectId, List<Long> taskStateIds) {
+
+        ProjectEntity project = controllerHelper.getProjectForUpdateOrThrowException(projectId);
+
+        Map<Long, TaskStateEntity> taskStatesById = taskStateRepository
+                .findAllByProjectIdOrderByOrdinalAsc(projectId)
+                .stream()
+                .collect(Collectors.toMap(TaskStateEntity::getId, Function.identity()));
+
+        if (taskStateIds.size() != taskStatesById.size()) {
+            throw new BadRequestExceptions(String.format(
+                    "Task states order must contain all %d task states of project \"%s\".",
+                    taskStatesById.size(),
+                    projectId
+            ));
+        }
+
+        List<TaskStateEntity> orderedTaskStates = new ArrayList<>(taskStateIds.size());
+        Set<Long> seenTaskStateIds = new HashSet<>();
+
+        for (Long taskStateId : taskStateIds) {
+
+            TaskStateEntity taskState = taskStatesById.get(taskStateId);
+
+            if (taskState == null) {
+                throw new BadRequestExceptions(String.format(
+                        "Task state with \"%s\" id doesn't exist in project \"%s\".", taskStateId, projectId
+                ));
+            }
+
+            if (!seenTaskStateIds.add(taskStateId)) {
+                throw new BadRequestExceptions(String.format(
+                        "Task state with \"%s\" id is listed more than once.", taskStateId
+                ));
+            }
+
+            orderedTaskStates.add(taskState);
+        }
+
+        taskStateOrdering.reorder(orderedTaskStates);
+
+        eventPublisher.publishEvent(BoardChangedEvent.ofProject(projectId, BoardChangedEvent.Type.TASK_STATE_MOVED));
+
+        return makeBoardStatsDto(project, orderedTaskStates);
+    }
+
+    private BoardStatsDto makeBoardStatsDto(ProjectEntity project) {
+        return makeBoardStatsDto(project, taskStateRepository.findAllByProjectIdOrderByOrdinalAsc(project.getId()));
+    }
+
+    private BoardStatsDto makeBoardStatsDto(ProjectEntity project, List<TaskStateEntity> orderedTaskStates) {
+
+        return BoardStatsDto.builder()
+                .projectId(project.getId())
+                .tasksCount(project.getTasksCount())
+                .lastTaskCreatedAt(project.getLastTaskCreatedAt())
+                .taskStates(
+                        orderedTaskStates
+                                .stream()
+                                .map(taskStateDtoFactory::makeTaskStateStatsDto)
+                                .collect(Collectors.toList())
+                )
+                .build();
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public TaskStateDto createTaskState(Long projectId, String taskStateName) {
+
+        ProjectEntity project = controllerHelper.getProjectForUpdateOrThrowException(projectId);
+
+        if (taskStateRepository.existsByProjectIdAndNormalizedName(
+                projectId, TaskStateEntity.normalizeName(taskStateName))) {
+            throw new BadRequestExceptions(String.format("Task state name \"%s\" already exist.", taskStateName));
+        }
+
+        final TaskStateEntity taskState = taskStateRepository.save(
+                TaskStateEntity
+                        .builder()
+                        .name(taskStateName)
+                        .project(project)
+                        .ordinal(taskStateOrdering.nextAppendOrdinal(projectId))
+                        .build()
+        );
+
+        eventPublisher.publishEvent(BoardChangedEvent.ofTaskState(
+                projectId, BoardChangedEvent.Type.TASK_STATE_CREATED, taskState.getId()
+        ));
+
+        return makeTaskStateDto(taskState);
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public TaskStateDto updateTaskState(Long taskStateId, String taskStateName) {
+
+        TaskStateEntity taskState = getTaskStateOrThrowException(taskStateId);
+
+        controllerHelper.getProjectForUpdateOrThrowException(taskState.getProject().getId());
+
+        taskStateRepository
+                .findByProjectIdAndNormalizedName(
+                        taskState.getProject().getId(), TaskStateEntity.normalizeName(taskStateName)
+                )
+                .filter(anotherTaskState -> !anotherTaskState.getId().equals(taskStateId))
+                .ifPresent(anotherTaskState -> {
+                    throw new BadRequestExceptions(String.format("Task state \"%s\" already exist.", taskStateName));
+                });
+
+        taskState.setName(taskStateName);
+
+        taskState = taskStateRepository.saveAndFlush(taskState);
+
+        eventPublisher.publishEvent(BoardChangedEvent.ofTaskState(
+                taskState.getProject().getId(), BoardChangedEvent.Type.TASK_STATE_RENAMED, taskStateId
+        ));
+
+        return makeTaskStateDto(taskState);
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public TaskStateDto changeTaskStatePosition(Long taskStateId, Optional<Long> optionalLeftTaskStateId) {
+
+        TaskStateEntity taskState = getTaskStateOrThrowException(taskStateId);
+
+        Long projectId = taskState.getProject().getId();
+
+        controllerHelper.getProjectForUpdateOrThrowException(projectId);
+
+        Optional<TaskStateEntity> optionalLeftTaskState = optionalLeftTaskStateId
+                .map(leftTaskStateId -> {
+
+                    if (leftTaskStateId.equals(taskStateId)) {
+                        throw new BadRequestExceptions("Left task state id equals changed task state.");
+                    }
+
+                    TaskStateEntity leftTaskState = getTaskStateOrThrowException(leftTaskStateId);
+
+                    if (!Objects.equals(leftTaskState.getProject().getId(), projectId)) {
+                        throw new BadRequestExceptions("Task state position can be changed within the same project.");
+                    }
+
+                    return leftTaskState;
+                });
+
+        taskStateOrdering.moveAfter(taskState, optionalLeftTaskState);
+
+        eventPublisher.publishEvent(BoardChangedEvent.ofTaskState(
+                projectId, BoardChangedEvent.Type.TASK_STATE_MOVED, taskStateId
+        ));
+
+        return makeTaskStateDto(taskState);
+    }
+
+    private TaskStateDto makeTaskStateDto(TaskStateEntity taskState) {
+        return taskStateDtoFactory.makeTaskStateDto(
+                taskState,
+                taskStateOrdering.findLeftTaskStateId(taskState).orElse(null),
+                taskStateOrdering.findRightTaskStateId(taskState).orElse(null),
+                taskRepository.findAllByTaskStateIdAndIdGreaterThanOrderByIdAsc(
+                        taskState.getId(), 0L, PageRequest.of(0, TaskStateController.DEFAULT_TASKS_PAGE_LIMIT)
+                )
+        );
+    }
+
+    private TaskStateEntity getTaskStateOrThrowException(Long taskSTateId) {
+        return taskStateRepository
+                .findById(taskSTateId)
+                .orElseThrow(() ->
+                        new NotFoundExceptions(String.format(
+                                "Task state with \"%s\" id doesn't exist.",
+                                taskSTateId
+                        )
+                        )
+                );
+    }
+
+}
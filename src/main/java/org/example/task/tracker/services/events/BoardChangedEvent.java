@@ -0,0 +1,63 @@
+package org.example.task.tracker.services.events;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Событие изменения проекта или его доски. Публикуется сервисами внутри изменяющей транзакции; подписчики
+ * обрабатывают его после фиксации транзакции (@TransactionalEventListener), поэтому откаченные
+ * изменения и неудачные попытки повтора событий не порождают. Исключение - запись в outbox
+ * (OutboxWriter), которая выполняется перед фиксацией в той же транзакции.
+ * <p>
+ * Изменения одной колонки (переименование, изменение задач) содержат идентификатор колонки,
+ * изменения структуры доски (состав и порядок колонок) и самого проекта относятся к проекту целиком.
+ */
+@Getter
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class BoardChangedEvent {
+
+    public enum Type {
+        PROJECT_CREATED,
+        PROJECT_RENAMED,
+        TASK_STATE_CREATED,
+        TASK_STATE_RENAMED,
+        TASK_STATE_MOVED,
+        TASKS_CHANGED,
+        PROJECT_DELETED
+    }
+
+    Long projectId;
+
+    Type type;
+
+    Long taskStateId;
+
+    public static BoardChangedEvent ofTaskState(Long projectId, Type type, Long taskStateId) {
+        return new BoardChangedEvent(projectId, type, taskStateId);
+    }
+
+    public static BoardChangedEvent ofProject(Long projectId, Type type) {
+        return new BoardChangedEvent(projectId, type, null);
+    }
+
+    /**
+     * Возвращает true, если изменение затрагивает только содержимое колонки taskStateId,
+     * а состав и порядок колонок доски остались прежними.
+     */
+    public boolean isColumnChange() {
+        return type == Type.TASK_STATE_RENAMED || type == Type.TASKS_CHANGED;
+    }
+
+    /**
+     * Возвращает true, если изменение затрагивает колонки или задачи доски.
+     */
+    public boolean isBoardChange() {
+        return type != Type.PROJECT_CREATED && type != Type.PROJECT_RENAMED;
+    }
+
+}
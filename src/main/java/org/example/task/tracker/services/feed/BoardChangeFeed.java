@@ -0,0 +1,304 @@
+package org.example.task.tracker.services.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.log4j.Log4j2;
+import org.example.task.tracker.api.dto.BoardChangeDto;
+import org.example.task.tracker.services.events.BoardChangedEvent;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Класс BoardChangeFeed - внутрипроцессная шина, которая рассылает зафиксированные изменения досок
+ * ({@link BoardChangedEvent}) подписчикам потока Server-Sent Events своего проекта.
+ * <p>
+ * Подписчик не занимает поток: соединение удерживается асинхронным запросом сервлета, а события пишутся
+ * неблокирующим выводом сервлета ({@link WriteListener}). Событие записывается, только пока контейнер
+ * подтверждает, что запись не заблокируется ({@link ServletOutputStream#isReady()}); иначе оно остается
+ * в ограниченной очереди подписчика (task-tracker.feed.buffer-size), а запись продолжает поток контейнера,
+ * когда клиент освободит буфер сокета. Поэтому ни поток, публикующий изменение, ни какой-либо общий поток
+ * не ждет медленного клиента. Если очередь переполняется, накопленные события отбрасываются и вместо них
+ * отправляется одно событие {@value #RESYNC_EVENT}: клиент должен заново загрузить доску.
+ * <p>
+ * Раз в task-tracker.feed.heartbeat-interval-millis подписчикам без ожидающих событий отправляется
+ * комментарий SSE, поэтому прокси не закрывают простаивающее соединение, а отключившиеся клиенты
+ * обнаруживаются задолго до истечения task-tracker.feed.timeout.
+ */
+@Log4j2
+@Component
+public class BoardChangeFeed implements DisposableBean {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribersByProjectId = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscribersCount = new AtomicInteger();
+
+    private final ObjectMapper objectMapper;
+
+    private final int bufferSize;
+
+    private final Duration timeout;
+
+    private final Counter resyncCounter;
+
+    public BoardChangeFeed(
+            ObjectMapper objectMapper,
+            @Value("${task-tracker.feed.buffer-size}") int bufferSize,
+            @Value("${task-tracker.feed.timeout}") Duration timeout,
+            MeterRegistry meterRegistry) {
+
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.resyncCounter = meterRegistry.counter("task_tracker.feed.resyncs");
+
+        Gauge.builder("task_tracker.feed.subscribers", subscribersCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Переводит запрос в асинхронный режим и подписывает его на изменения доски проекта.
+     */
+    public void subscribe(Long projectId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeout.toMillis());
+
+        Subscriber subscriber = new Subscriber(projectId, asyncContext, response.getOutputStream());
+
+        asyncContext.addListener(subscriber);
+        subscriber.outputStream.setWriteListener(subscriber);
+
+        subscribersByProjectId
+                .computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet())
+                .add(subscriber);
+        subscribersCount.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBoardChanged(BoardChangedEvent event) {
+
+        Set<Subscriber> subscribers = subscribersByProjectId.get(event.getProjectId());
+
+        if (subscribers == null) {
+            return;
+        }
+
+        String type = event.getType().name().toLowerCase(Locale.ROOT);
+        byte[] message = makeMessage(type, BoardChangeDto.builder()
+                .projectId(event.getProjectId())
+                .type(type)
+                .taskStateId(event.getTaskStateId())
+                .build());
+        boolean last = event.getType() == BoardChangedEvent.Type.PROJECT_DELETED;
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(message, last);
+        }
+    }
+
+    /**
+     * Отправляет подписчикам проекта событие project_deleted и завершает их потоки. Используется, когда
+     * проект оказался удален, но само событие удаления подписчик мог не получить: оно было разослано
+     * до того, как подписчик был зарегистрирован.
+     */
+    public void completeDeletedProject(Long projectId) {
+        onBoardChanged(BoardChangedEvent.ofProject(projectId, BoardChangedEvent.Type.PROJECT_DELETED));
+    }
+
+    @Scheduled(fixedDelayString = "${task-tracker.feed.heartbeat-interval-millis}")
+    public void sendHeartbeats() {
+        subscribersByProjectId.values().forEach(subscribers -> subscribers.forEach(Subscriber::heartbeat));
+    }
+
+    @Override
+    public void destroy() {
+        subscribersByProjectId.values().forEach(subscribers -> subscribers.forEach(Subscriber::complete));
+    }
+
+    private byte[] makeMessage(String eventName, BoardChangeDto change) {
+        try {
+            return ("event: " + eventName + "\ndata: " + objectMapper.writeValueAsString(change) + "\n\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Очередь и запись подписчика защищены его монитором: в очередь пишут потоки, публикующие изменения,
+     * и планировщик, а выводят ее и они же, и поток контейнера в {@link #onWritePossible()}.
+     */
+    private final class Subscriber implements WriteListener, AsyncListener {
+
+        private final Long projectId;
+
+        private final AsyncContext asyncContext;
+
+        private final ServletOutputStream outputStream;
+
+        private final Queue<byte[]> queue = new ArrayDeque<>();
+
+        private final AtomicBoolean subscribed = new AtomicBoolean(true);
+
+        private boolean overflowed;
+
+        private boolean completeWhenDrained;
+
+        private Subscriber(Long projectId, AsyncContext asyncContext, ServletOutputStream outputStream) {
+            this.projectId = projectId;
+            this.asyncContext = asyncContext;
+            this.outputStream = outputStream;
+        }
+
+        synchronized void offer(byte[] message, boolean last) {
+
+            if (!subscribed.get()) {
+                return;
+            }
+
+            if (queue.size() < bufferSize) {
+                queue.add(message);
+            } else {
+                overflowed = true;
+            }
+
+            completeWhenDrained |= last;
+
+            drain();
+        }
+
+        synchronized void heartbeat() {
+            if (queue.isEmpty() && !overflowed) {
+                offer(HEARTBEAT, false);
+            }
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            drain();
+        }
+
+        private void drain() {
+
+            try {
+                while (subscribed.get() && outputStream.isReady()) {
+
+                    if (overflowed) {
+                        overflowed = false;
+                        queue.clear();
+                        resyncCounter.increment();
+                        outputStream.write(makeMessage(
+                                RESYNC_EVENT,
+                                BoardChangeDto.builder().projectId(projectId).type(RESYNC_EVENT).build()
+                        ));
+                        continue;
+                    }
+
+                    byte[] message = queue.poll();
+
+                    if (message != null) {
+                        outputStream.write(message);
+                        continue;
+                    }
+
+                    outputStream.flush();
+
+                    if (completeWhenDrained && outputStream.isReady()) {
+                        complete();
+                    }
+                    break;
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Board change subscriber of project {} disconnected", projectId, e);
+                complete();
+            }
+        }
+
+        void complete() {
+            if (unsubscribe()) {
+                try {
+                    asyncContext.complete();
+                } catch (IllegalStateException e) {
+                    log.debug("Board change stream of project {} is already completed", projectId, e);
+                }
+            }
+        }
+
+        private boolean unsubscribe() {
+
+            if (!subscribed.compareAndSet(true, false)) {
+                return false;
+            }
+
+            subscribersCount.decrementAndGet();
+            subscribersByProjectId.computeIfPresent(projectId, (id, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+
+            return true;
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            log.debug("Board change subscriber of project {} failed", projectId, error);
+            complete();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            unsubscribe();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            complete();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            complete();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+    }
+
+}
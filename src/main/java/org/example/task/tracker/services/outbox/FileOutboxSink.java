@@ -0,0 +1,68 @@
+package org.example.task.tracker.services.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.example.task.tracker.store.entities.OutboxEventEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Приемник, который дописывает события в файл task-tracker.outbox.file.path в формате NDJSON
+ * (одно событие на строку с полями id, type, created_at и payload). Пакет считается доставленным
+ * после сброса файла на диск.
+ */
+@ConditionalOnProperty(name = "task-tracker.outbox.sink", havingValue = "file")
+@Component
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(@Value("${task-tracker.outbox.file.path}") Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEventEntity> events) {
+
+        StringBuilder lines = new StringBuilder();
+
+        try {
+            for (OutboxEventEntity event : events) {
+
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("id", event.getId());
+                line.put("type", event.getType());
+                line.put("created_at", event.getCreatedAt());
+                line.put("payload", objectMapper.readTree(event.getPayload()));
+
+                lines.append(objectMapper.writeValueAsString(line)).append('\n');
+            }
+
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            try (FileChannel channel = FileChannel.open(
+                    path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(StandardCharsets.UTF_8.encode(lines.toString()));
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
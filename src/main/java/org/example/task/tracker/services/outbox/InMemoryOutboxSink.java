@@ -0,0 +1,42 @@
+package org.example.task.tracker.services.outbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.example.task.tracker.store.entities.OutboxEventEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Приемник, который хранит последние доставленные события в памяти (не больше
+ * task-tracker.outbox.memory.capacity). Предназначен для тестов и локального запуска.
+ */
+@ConditionalOnProperty(name = "task-tracker.outbox.sink", havingValue = "memory", matchIfMissing = true)
+@Component
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final Deque<OutboxEventEntity> events = new ArrayDeque<>();
+
+    private final int capacity;
+
+    public InMemoryOutboxSink(@Value("${task-tracker.outbox.memory.capacity}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEventEntity> events) {
+        for (OutboxEventEntity event : events) {
+            if (this.events.size() == capacity) {
+                this.events.removeFirst();
+            }
+            this.events.addLast(event);
+        }
+    }
+
+    public synchronized List<OutboxEventEntity> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+}
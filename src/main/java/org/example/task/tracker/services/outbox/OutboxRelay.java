@@ -0,0 +1,110 @@
+package org.example.task.tracker.services.outbox;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.log4j.Log4j2;
+import org.example.task.tracker.store.entities.OutboxEventEntity;
+import org.example.task.tracker.store.repositories.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Класс OutboxRelay - фоновая доставка записей outbox_event в {@link OutboxSink}.
+ * <p>
+ * Раз в task-tracker.outbox.poll-interval-millis выбирает пакет из не более чем task-tracker.outbox.batch-size
+ * записей под блокировкой строк, передает его приемнику одним вызовом и удаляет в той же транзакции. Пока
+ * пакеты полные, следующий выбирается сразу, без ожидания. Блокировка не позволяет двум экземплярам
+ * приложения доставить одни и те же записи, но и не пропускает заблокированные строки.
+ * <p>
+ * Порядок гарантируется только для событий одного проекта. Идентификаторы записей выделяются блоками
+ * (pooled-lo) и не отражают порядок фиксации параллельных транзакций, поэтому записи выбираются
+ * по проекту и порядковому номеру события в проекте ({@code project_sequence}), который назначает
+ * {@link OutboxWriter}. Событие с большим номером не может быть зафиксировано раньше события
+ * с меньшим, поэтому события каждого проекта доставляются в порядке фиксации. Порядок событий
+ * разных проектов не определен.
+ * <p>
+ * Если приемник недоступен, транзакция откатывается, записи остаются в таблице, а следующие попытки
+ * откладываются с экспоненциально растущей паузой (от task-tracker.outbox.backoff.initial
+ * до task-tracker.outbox.backoff.max).
+ */
+@Log4j2
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final OutboxSink outboxSink;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final Duration initialBackoff;
+
+    private final Duration maxBackoff;
+
+    private Duration backoff = Duration.ZERO;
+
+    private long retryAtNanos;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            OutboxSink outboxSink,
+            PlatformTransactionManager transactionManager,
+            @Value("${task-tracker.outbox.batch-size}") int batchSize,
+            @Value("${task-tracker.outbox.backoff.initial}") Duration initialBackoff,
+            @Value("${task-tracker.outbox.backoff.max}") Duration maxBackoff) {
+
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Scheduled(
+            initialDelayString = "${task-tracker.outbox.poll-interval-millis}",
+            fixedDelayString = "${task-tracker.outbox.poll-interval-millis}")
+    public void relay() {
+
+        if (System.nanoTime() - retryAtNanos < 0) {
+            return;
+        }
+
+        try {
+            int relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed == batchSize);
+
+            backoff = Duration.ZERO;
+        } catch (RuntimeException e) {
+            backoff = backoff.isZero() ? initialBackoff : min(backoff.multipliedBy(2), maxBackoff);
+            retryAtNanos = System.nanoTime() + backoff.toNanos();
+
+            log.warn("Outbox relay failed, next attempt in {}", backoff, e);
+        }
+    }
+
+    private int relayBatch() {
+
+        List<OutboxEventEntity> events = outboxEventRepository.findAllInProjectOrder(PageRequest.ofSize(batchSize));
+
+        if (!events.isEmpty()) {
+            outboxSink.publish(events);
+            outboxEventRepository.deleteAllInBatch(events);
+        }
+
+        return events.size();
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+}
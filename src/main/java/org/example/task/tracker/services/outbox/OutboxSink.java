@@ -0,0 +1,19 @@
+package org.example.task.tracker.services.outbox;
+
+import java.util.List;
+import org.example.task.tracker.store.entities.OutboxEventEntity;
+
+/**
+ * Приемник исходящих событий. Получает пакет событий, упорядоченных внутри каждого проекта в порядке
+ * фиксации (порядок событий разных проектов не определен); пакет считается доставленным,
+ * если метод завершился без исключения. При исключении тот же пакет будет передан повторно, поэтому
+ * приемник должен допускать повторную доставку (например, отбрасывать события по идентификатору).
+ * <p>
+ * Реализация выбирается свойством task-tracker.outbox.sink; для подключения внешней системы достаточно
+ * отключить оба встроенных приемника (task-tracker.outbox.sink=none) и объявить собственный бин этого типа.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEventEntity> events);
+
+}
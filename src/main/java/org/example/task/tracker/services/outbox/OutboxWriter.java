@@ -0,0 +1,85 @@
+package org.example.task.tracker.services.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.task.tracker.api.dto.BoardChangeDto;
+import org.example.task.tracker.services.events.BoardChangedEvent;
+import org.example.task.tracker.store.entities.OutboxEventEntity;
+import org.example.task.tracker.store.entities.ProjectEntity;
+import org.example.task.tracker.store.repositories.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Записывает каждое изменение проекта в таблицу outbox_event непосредственно перед фиксацией изменяющей
+ * транзакции. Запись фиксируется или откатывается вместе с самим изменением, а доставка выполняется
+ * позже {@link OutboxRelay}, поэтому время ответа на запрос не зависит от внешних систем.
+ * <p>
+ * Каждое событие получает следующий порядковый номер проекта (project.outbox_sequence). Номер
+ * увеличивается в строке проекта, которая проверяется по версии, поэтому из двух параллельных транзакций
+ * одного проекта зафиксируется только одна, а вторая повторится с новым номером: номера событий проекта
+ * идут в порядке фиксации.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+@Component
+public class OutboxWriter {
+
+    OutboxEventRepository outboxEventRepository;
+
+    EntityManager entityManager;
+
+    ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBoardChanged(BoardChangedEvent event) {
+
+        String type = event.getType().name().toLowerCase(Locale.ROOT);
+
+        outboxEventRepository.save(
+                OutboxEventEntity.builder()
+                        .projectId(event.getProjectId())
+                        .projectSequence(nextProjectSequence(event.getProjectId()))
+                        .type(type)
+                        .payload(writePayload(BoardChangeDto.builder()
+                                .projectId(event.getProjectId())
+                                .type(type)
+                                .taskStateId(event.getTaskStateId())
+                                .build()))
+                        .build()
+        );
+    }
+
+    /**
+     * Возвращает null, если проект удален в этой же транзакции.
+     */
+    private Long nextProjectSequence(Long projectId) {
+
+        ProjectEntity project = entityManager.find(ProjectEntity.class, projectId);
+
+        if (project == null) {
+            return null;
+        }
+
+        long projectSequence = (project.getOutboxSequence() == null ? 0 : project.getOutboxSequence()) + 1;
+        project.setOutboxSequence(projectSequence);
+
+        return projectSequence;
+    }
+
+    private String writePayload(BoardChangeDto change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.example.task.tracker.services.snapshots;
+
+import java.time.Instant;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.task.tracker.store.repositories.ProjectRepository.ProjectChangeVersion;
+
+/**
+ * Готовое к отправке JSON-представление доски проекта. Массив байтов не изменяется после создания
+ * и записывается в ответ как есть.
+ * <p>
+ * ETag и Last-Modified снимка - это версия и время изменения проекта, прочитанные до чтения доски
+ * в той же транзакции. Поэтому снимок никогда не помечается версией новее своего содержимого,
+ * а условный запрос можно проверить по версии проекта, не загружая доску.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class BoardSnapshot {
+
+    byte[] json;
+
+    String eTag;
+
+    Instant lastModified;
+
+    public static BoardSnapshot of(byte[] json, ProjectChangeVersion changeVersion, int tasksLimit) {
+        return new BoardSnapshot(json, makeETag(changeVersion, tasksLimit), changeVersion.getUpdatedAt());
+    }
+
+    public static String makeETag(ProjectChangeVersion changeVersion, int tasksLimit) {
+        return "\"" + changeVersion.getVersion() + "-" + tasksLimit + "\"";
+    }
+
+}
@@ -0,0 +1,369 @@
+package org.example.task.tracker.services.snapshots;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.example.task.tracker.api.controllers.TaskStateController;
+import org.example.task.tracker.api.controllers.helpers.BoardHelper;
+import org.example.task.tracker.api.controllers.helpers.ControllerHelper;
+import org.example.task.tracker.api.dto.TaskStateDto;
+import org.example.task.tracker.api.factories.TaskStateDtoFactory;
+import org.example.task.tracker.config.datasource.ReadYourWritesWindow;
+import org.example.task.tracker.config.metrics.MetricsConfig;
+import org.example.task.tracker.exceptions.NotFoundExceptions;
+import org.example.task.tracker.services.events.BoardChangedEvent;
+import org.example.task.tracker.store.entities.TaskStateEntity;
+import org.example.task.tracker.store.repositories.ProjectRepository;
+import org.example.task.tracker.store.repositories.ProjectRepository.ProjectChangeVersion;
+import org.example.task.tracker.store.repositories.TaskRepository;
+import org.example.task.tracker.store.repositories.TaskStateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Класс BoardSnapshotService хранит для каждого проекта готовое JSON-представление доски (с первой
+ * страницей задач размером {@link TaskStateController#DEFAULT_TASKS_PAGE_LIMIT}) в виде массива байтов.
+ * Каждая колонка кодируется отдельно, а доска собирается из закодированных колонок.
+ * <p>
+ * После фиксации изменения ({@link BoardChangedEvent}) изменение одной колонки удаляет из снимка
+ * только эту колонку: при следующем чтении заново загружается и кодируется только она. Изменение
+ * состава или порядка колонок удаляет снимок доски целиком.
+ * <p>
+ * Изменение самого проекта (например, переименование) не меняет содержимое доски, но меняет версию
+ * проекта, поэтому снимок собирается заново из уже закодированных колонок с новым ETag. Снимок,
+ * чей ETag не совпадает с текущей версией проекта, в ответ не отдается, а строится заново.
+ * <p>
+ * Каждое изменение присваивает доске новый номер поколения. Снимок, который строился параллельно
+ * с изменением, не сохраняется, если за это время поколение сменилось. Номера поколений хранятся
+ * только для досок, чьи снимки есть в кэше, и удаляются вместе со снимком; у остальных досок общий
+ * номер поколения, который меняется при удалении любого номера. Снимки строятся по основной базе данных,
+ * чтобы отставание реплики не закрепилось в кэше до следующего изменения.
+ * <p>
+ * Доска с другим размером страницы задач не кэшируется и кодируется при каждом запросе.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Service
+public class BoardSnapshotService {
+
+    private static final byte[] EMPTY_JSON_ARRAY = {'[', ']'};
+
+    ProjectRepository projectRepository;
+
+    TaskStateRepository taskStateRepository;
+
+    TaskRepository taskRepository;
+
+    TaskStateDtoFactory taskStateDtoFactory;
+
+    BoardHelper boardHelper;
+
+    ControllerHelper controllerHelper;
+
+    ObjectMapper objectMapper;
+
+    TransactionTemplate readOnlyTransactionTemplate;
+
+    Timer encodingTimer;
+
+    AtomicLong generationClock = new AtomicLong();
+
+    AtomicLong uncachedGeneration = new AtomicLong();
+
+    ConcurrentMap<Long, Long> generations = new ConcurrentHashMap<>();
+
+    ConcurrentMap<Long, BoardEntry> entries;
+
+    public BoardSnapshotService(
+            ProjectRepository projectRepository,
+            TaskStateRepository taskStateRepository,
+            TaskRepository taskRepository,
+            TaskStateDtoFactory taskStateDtoFactory,
+            BoardHelper boardHelper,
+            ControllerHelper controllerHelper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${task-tracker.cache.boards.max-size}") long maxBoards) {
+
+        this.projectRepository = projectRepository;
+        this.taskStateRepository = taskStateRepository;
+        this.taskRepository = taskRepository;
+        this.taskStateDtoFactory = taskStateDtoFactory;
+        this.boardHelper = boardHelper;
+        this.controllerHelper = controllerHelper;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.encodingTimer = meterRegistry.timer(MetricsConfig.BOARD_ENCODING_TIMER);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxBoards)
+                .<Long, BoardEntry>evictionListener((projectId, entry, cause) -> forgetGeneration(projectId))
+                .build()
+                .asMap();
+    }
+
+    /**
+     * Возвращает снимок доски проекта с первой страницей задач размером tasksLimit. Снимок доски
+     * с размером страницы по умолчанию берется из кэша, при необходимости достраиваются устаревшие колонки.
+     * Снимок из кэша возвращается, только если его ETag совпадает с currentETag - ETag текущей версии
+     * проекта, прочитанной вызывающим кодом.
+     *
+     * @throws NotFoundExceptions если проект не существует.
+     */
+    public BoardSnapshot getBoardSnapshot(Long projectId, int tasksLimit, String currentETag) {
+
+        controllerHelper.getProjectDtoOrThrowException(projectId);
+
+        if (tasksLimit != TaskStateController.DEFAULT_TASKS_PAGE_LIMIT) {
+            return readOnlyTransactionTemplate.execute(status -> encodeBoard(projectId, tasksLimit));
+        }
+
+        final long generation = getGeneration(projectId);
+        final BoardEntry entry = entries.get(projectId);
+
+        if (entry != null && entry.generation == generation && entry.snapshot != null
+                && entry.snapshot.getETag().equals(currentETag)) {
+            return entry.snapshot;
+        }
+
+        BoardEntry rebuilt = ReadYourWritesWindow.callOnPrimary(() -> readOnlyTransactionTemplate.execute(status ->
+                entry != null && entry.generation == generation && entry.snapshot == null
+                        ? rebuildStaleColumns(projectId, entry)
+                        : buildBoard(projectId, generation)
+        ));
+
+        entries.compute(projectId, (id, current) -> {
+
+            if (getGeneration(id) != generation) {
+                return current;
+            }
+
+            generations.putIfAbsent(id, generation);
+
+            return rebuilt;
+        });
+
+        return rebuilt.snapshot;
+    }
+
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBoardChanged(BoardChangedEvent event) {
+
+        long generation = generationClock.incrementAndGet();
+
+        entries.compute(event.getProjectId(), (projectId, entry) -> {
+
+            BoardEntry updated = null;
+
+            if (entry != null && event.getType() != BoardChangedEvent.Type.PROJECT_DELETED) {
+                if (!event.isBoardChange()) {
+                    updated = entry.withoutSnapshot(generation);
+                } else if (event.isColumnChange()) {
+                    updated = entry.withoutColumn(event.getTaskStateId(), generation);
+                }
+            }
+
+            if (updated == null) {
+                forgetGeneration(projectId);
+            } else {
+                generations.put(projectId, generation);
+            }
+
+            return updated;
+        });
+    }
+
+    private long getGeneration(Long projectId) {
+        Long generation = generations.get(projectId);
+        return generation != null ? generation : uncachedGeneration.get();
+    }
+
+    /**
+     * Удаляет номер поколения доски, чей снимок удален из кэша. Общий номер поколения досок без снимков
+     * при этом меняется, поэтому снимок, который строился до удаления, не будет сохранен.
+     */
+    private void forgetGeneration(Long projectId) {
+        uncachedGeneration.set(generationClock.incrementAndGet());
+        generations.remove(projectId);
+    }
+
+    private BoardSnapshot encodeBoard(Long projectId, int tasksLimit) {
+
+        ProjectChangeVersion changeVersion = getChangeVersion(projectId);
+
+        List<TaskStateDto> board = boardHelper.makeBoard(projectId, tasksLimit);
+
+        Timer.Sample sample = Timer.start();
+        try {
+            return BoardSnapshot.of(objectMapper.writeValueAsBytes(board), changeVersion, tasksLimit);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            sample.stop(encodingTimer);
+        }
+    }
+
+    private BoardEntry buildBoard(Long projectId, long generation) {
+
+        ProjectChangeVersion changeVersion = getChangeVersion(projectId);
+
+        List<TaskStateDto> board = boardHelper.makeBoard(projectId, TaskStateController.DEFAULT_TASKS_PAGE_LIMIT);
+
+        List<Long> taskStateIds = new ArrayList<>(board.size());
+        Map<Long, byte[]> columns = new HashMap<>();
+
+        for (TaskStateDto taskState : board) {
+            taskStateIds.add(taskState.getId());
+            columns.put(taskState.getId(), encodeColumn(taskState));
+        }
+
+        return BoardEntry.assemble(generation, taskStateIds, columns, changeVersion);
+    }
+
+    private BoardEntry rebuildStaleColumns(Long projectId, BoardEntry entry) {
+
+        ProjectChangeVersion changeVersion = getChangeVersion(projectId);
+
+        List<Long> taskStateIds = entry.taskStateIds;
+        Map<Long, byte[]> columns = new HashMap<>(entry.columns);
+
+        for (int i = 0; i < taskStateIds.size(); i++) {
+
+            Long taskStateId = taskStateIds.get(i);
+
+            if (columns.containsKey(taskStateId)) {
+                continue;
+            }
+
+            Optional<TaskStateEntity> optionalTaskState = taskStateRepository.findById(taskStateId);
+
+            if (optionalTaskState.isEmpty()) {
+                return buildBoard(projectId, entry.generation);
+            }
+
+            columns.put(taskStateId, encodeColumn(taskStateDtoFactory.makeTaskStateDto(
+                    optionalTaskState.get(),
+                    i > 0 ? taskStateIds.get(i - 1) : null,
+                    i < taskStateIds.size() - 1 ? taskStateIds.get(i + 1) : null,
+                    taskRepository.findAllByTaskStateIdAndIdGreaterThanOrderByIdAsc(
+                            taskStateId, 0L, PageRequest.of(0, TaskStateController.DEFAULT_TASKS_PAGE_LIMIT)
+                    )
+            )));
+        }
+
+        return BoardEntry.assemble(entry.generation, taskStateIds, columns, changeVersion);
+    }
+
+    private ProjectChangeVersion getChangeVersion(Long projectId) {
+        return projectRepository
+                .findChangeVersionById(projectId)
+                .orElseThrow(() -> new NotFoundExceptions(String.format(
+                        "Project with id \"%s\" doesn't exists.", projectId
+                )));
+    }
+
+    private byte[] encodeColumn(TaskStateDto taskState) {
+
+        Timer.Sample sample = Timer.start();
+        try {
+            return objectMapper.writeValueAsBytes(taskState);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            sample.stop(encodingTimer);
+        }
+    }
+
+    /**
+     * Закодированные колонки доски в порядке отображения. Отсутствующая в columns колонка устарела;
+     * пока такие колонки есть, собранного снимка нет.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static final class BoardEntry {
+
+        long generation;
+
+        List<Long> taskStateIds;
+
+        Map<Long, byte[]> columns;
+
+        BoardSnapshot snapshot;
+
+        private BoardEntry(
+                long generation, List<Long> taskStateIds, Map<Long, byte[]> columns, BoardSnapshot snapshot) {
+            this.generation = generation;
+            this.taskStateIds = taskStateIds;
+            this.columns = columns;
+            this.snapshot = snapshot;
+        }
+
+        static BoardEntry assemble(
+                long generation,
+                List<Long> taskStateIds,
+                Map<Long, byte[]> columns,
+                ProjectChangeVersion changeVersion) {
+
+            int tasksLimit = TaskStateController.DEFAULT_TASKS_PAGE_LIMIT;
+
+            if (taskStateIds.isEmpty()) {
+                return new BoardEntry(
+                        generation, taskStateIds, columns, BoardSnapshot.of(EMPTY_JSON_ARRAY, changeVersion, tasksLimit)
+                );
+            }
+
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            json.write('[');
+
+            for (int i = 0; i < taskStateIds.size(); i++) {
+                if (i > 0) {
+                    json.write(',');
+                }
+                json.writeBytes(columns.get(taskStateIds.get(i)));
+            }
+
+            json.write(']');
+
+            return new BoardEntry(
+                    generation, taskStateIds, columns, BoardSnapshot.of(json.toByteArray(), changeVersion, tasksLimit)
+            );
+        }
+
+        BoardEntry withoutSnapshot(long newGeneration) {
+            return new BoardEntry(newGeneration, taskStateIds, columns, null);
+        }
+
+        BoardEntry withoutColumn(Long taskStateId, long newGeneration) {
+
+            if (!taskStateIds.contains(taskStateId)) {
+                return null;
+            }
+
+            Map<Long, byte[]> remainingColumns = new HashMap<>(columns);
+            remainingColumns.remove(taskStateId);
+
+            return new BoardEntry(newGeneration, taskStateIds, remainingColumns, null);
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.example.task.tracker.store.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Запись исходящего события (transactional outbox). Записывается в той же транзакции, что и изменение,
+ * о котором сообщает, и удаляется после доставки во внешний приемник.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "outbox_event",
+        indexes = @Index(name = "outbox_event_project_id_sequence_idx", columnList = "project_id, project_sequence")
+)
+public class OutboxEventEntity {
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(
+            name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = ID_ALLOCATION_SIZE
+    )
+    private Long id;
+
+    private Long projectId;
+
+    /**
+     * Порядковый номер события среди событий проекта, в порядке фиксации изменяющих транзакций.
+     * У события удаления проекта номера нет: оно всегда последнее.
+     */
+    private Long projectSequence;
+
+    private String type;
+
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+
+}
@@ -1,5 +1,6 @@
 package org.example.task.tracker.store.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -7,7 +8,10 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +20,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -25,13 +31,21 @@ import lombok.Setter;
 //@FieldDefaults(level = AccessLevel.PRIVATE) //experimental access level private
 @Entity
 @Table(name = "project")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
 
 public class ProjectEntity {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_entity_seq")
+    @SequenceGenerator(name = "project_entity_seq", sequenceName = "project_entity_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(unique = true)
     private String name;
 
@@ -41,9 +55,35 @@ public class ProjectEntity {
     @Builder.Default
     private Instant updatedAt = Instant.now();
 
+    /**
+     * Количество задач во всех колонках проекта и время создания самой новой из них.
+     */
+    @Builder.Default
+    private Long tasksCount = 0L;
+
+    private Instant lastTaskCreatedAt;
+
+    /**
+     * Проект удаляется в фоне ({@code ProjectDeletionService}): изменения проекта и его доски отклоняются.
+     */
     @Builder.Default
+    private Boolean deleting = false;
+
+    /**
+     * Номер последнего события проекта, записанного в outbox_event (см. {@code OutboxWriter}).
+     */
+    @Builder.Default
+    private Long outboxSequence = 0L;
+
+    @Builder.Default
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project.task_states")
     @OneToMany
     @JoinColumn(name = "project_id", referencedColumnName = "id")
     private List<TaskStateEntity> taskStates = new ArrayList<>();
 
+    @PreUpdate
+    private void touchOnUpdate() {
+        updatedAt = Instant.now();
+    }
+
 }
@@ -1,9 +1,14 @@
 package org.example.task.tracker.store.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import lombok.AllArgsConstructor;
@@ -11,17 +16,24 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "task")
+@Table(name = "task", indexes = @Index(name = "task_task_state_id_id_idx", columnList = "task_state_id, id"))
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task")
 public class TaskEntity {
+    public static final int ID_ALLOCATION_SIZE = 500;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_entity_seq")
+    @SequenceGenerator(name = "task_entity_seq", sequenceName = "task_entity_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String name;
@@ -31,4 +43,7 @@ public class TaskEntity {
 
     private String description;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    private TaskStateEntity taskState;
+
 }
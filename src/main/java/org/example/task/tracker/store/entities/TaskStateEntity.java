@@ -1,23 +1,31 @@
 package org.example.task.tracker.store.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -25,38 +33,69 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "task_state")
+@Table(
+        name = "task_state",
+        uniqueConstraints = @UniqueConstraint(
+                name = TaskStateEntity.NORMALIZED_NAME_CONSTRAINT,
+                columnNames = {"project_id", "normalized_name"}
+        ),
+        indexes = @Index(name = "task_state_project_id_ordinal_idx", columnList = "project_id, ordinal")
+)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task_state")
 public class TaskStateEntity {
 
+    public static final String NORMALIZED_NAME_CONSTRAINT = "task_state_project_id_normalized_name_key";
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_state_entity_seq")
+    @SequenceGenerator(name = "task_state_entity_seq", sequenceName = "task_state_entity_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
     private String name;
 
-    @OneToOne
-    private TaskStateEntity leftTaskState;
+    @Setter(AccessLevel.NONE)
+    private String normalizedName;
 
-    @OneToOne
-    private TaskStateEntity rightTaskState;
+    private Long ordinal;
 
     @Builder.Default
     private Instant createdAt = Instant.now();
 
-    @ManyToOne
+    /**
+     * Количество задач колонки и время создания самой новой из них. Поддерживаются в транзакциях,
+     * изменяющих задачи, поэтому статистика доски не требует подсчета задач.
+     */
+    @Builder.Default
+    private Long tasksCount = 0L;
+
+    private Instant lastTaskCreatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     private ProjectEntity project;
 
     @Builder.Default
-    @OneToMany
-    @JoinColumn(name = "task_state_id", referencedColumnName = "id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task_state.tasks")
+    @OneToMany(mappedBy = "taskState")
     private List<TaskEntity> tasks = new ArrayList<>();
 
-    public Optional<TaskStateEntity> getLeftTaskState() {
-        return Optional.ofNullable(leftTaskState);
+    public static String normalizeName(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        this.normalizedName = normalizeName(name);
     }
 
-    public Optional<TaskStateEntity> getRightTaskState() {
-        return Optional.ofNullable(rightTaskState);
+    @PrePersist
+    private void normalizeNameOnPersist() {
+        normalizedName = normalizeName(name);
     }
 
 }
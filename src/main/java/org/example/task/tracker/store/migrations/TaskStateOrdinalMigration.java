@@ -0,0 +1,98 @@
+package org.example.task.tracker.store.migrations;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.log4j.Log4j2;
+import org.example.task.tracker.store.ordering.TaskStateOrdering;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Класс TaskStateOrdinalMigration переводит существующие доски со старого хранения порядка колонок
+ * (двусвязный список left_task_state_id/right_task_state_id) на поле ordinal.
+ * <p>
+ * Миграция выполняется при старте приложения, после обновления схемы Hibernate и до начала обработки
+ * запросов. Цепочки колонок обходятся рекурсивным запросом прямо в базе данных. Поврежденные списки
+ * не ломают миграцию: обход не заходит в уже пройденную колонку (защита от циклов), ограничен
+ * по глубине, а ordinal назначается нумерацией row_number() по проекту в порядке (начало цепочки, глубина),
+ * поэтому несколько начал цепочек в одном проекте не дают одинаковых ordinal, а каждая цепочка остается
+ * непрерывной: сначала все колонки одной цепочки, затем следующей. Колонки, не попавшие ни в одну цепочку,
+ * добавляются в конец доски. После переноса старые столбцы удаляются, поэтому повторный запуск
+ * миграции ничего не делает.
+ */
+@Log4j2
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+@Component
+public class TaskStateOrdinalMigration implements InitializingBean {
+
+    private static final String LEGACY_COLUMN_EXISTS = "SELECT EXISTS (SELECT 1 FROM information_schema.columns "
+            + "WHERE table_name = 'task_state' AND column_name = 'left_task_state_id')";
+
+    /**
+     * Максимальная длина обходимой цепочки; колонки дальше нее добавляются в конец доски вместе с колонками,
+     * не попавшими ни в одну цепочку.
+     */
+    private static final int MAX_CHAIN_LENGTH = 10_000;
+
+    private static final String ORDER_LINKED_TASK_STATES = """
+            WITH RECURSIVE chain (id, project_id, head_id, depth, path) AS (
+                SELECT id, project_id, id, 1, ARRAY[id]
+                FROM task_state
+                WHERE left_task_state_id IS NULL AND ordinal IS NULL
+                UNION ALL
+                SELECT ts.id, ts.project_id, chain.head_id, chain.depth + 1, chain.path || ts.id
+                FROM task_state ts
+                JOIN chain ON ts.left_task_state_id = chain.id AND ts.project_id = chain.project_id
+                WHERE ts.id <> ALL (chain.path) AND chain.depth < ?
+            ), ordered AS (
+                SELECT id, row_number() OVER (PARTITION BY project_id ORDER BY head_id, depth) AS position
+                FROM chain
+            )
+            UPDATE task_state t SET ordinal = ordered.position * ? FROM ordered WHERE t.id = ordered.id
+            """;
+
+    private static final String ORDER_UNLINKED_TASK_STATES = """
+            UPDATE task_state t SET ordinal = r.max_ordinal + r.position * ?
+            FROM (
+                SELECT ts.id,
+                       row_number() OVER (PARTITION BY ts.project_id ORDER BY ts.id) AS position,
+                       (SELECT coalesce(max(o.ordinal), 0) FROM task_state o WHERE o.project_id = ts.project_id)
+                           AS max_ordinal
+                FROM task_state ts
+                WHERE ts.ordinal IS NULL
+            ) r
+            WHERE t.id = r.id
+            """;
+
+    JdbcTemplate jdbcTemplate;
+
+    TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LEGACY_COLUMN_EXISTS, Boolean.class))) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            int linked = jdbcTemplate.update(ORDER_LINKED_TASK_STATES, MAX_CHAIN_LENGTH, TaskStateOrdering.GAP);
+            int unlinked = jdbcTemplate.update(ORDER_UNLINKED_TASK_STATES, TaskStateOrdering.GAP);
+
+            jdbcTemplate.execute("ALTER TABLE project DROP COLUMN IF EXISTS tail_task_state_id");
+            jdbcTemplate.execute("ALTER TABLE task_state "
+                    + "DROP COLUMN IF EXISTS left_task_state_id, "
+                    + "DROP COLUMN IF EXISTS right_task_state_id");
+
+            log.info("Task states migrated to ordinals: {} from linked lists, {} appended", linked, unlinked);
+        });
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.example.task.tracker.store.ordering;
+
+import java.util.List;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.task.tracker.store.entities.TaskStateEntity;
+import org.example.task.tracker.store.repositories.TaskStateRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Класс TaskStateOrdering отвечает за порядок колонок внутри проекта. Порядок хранится в сортируемом
+ * поле ordinal с промежутками GAP между соседними колонками: добавление в конец и перемещение колонки
+ * меняют только одну строку, перестановка всей доски - только переставленные колонки, а список колонок
+ * по порядку получается одним индексированным ORDER BY.
+ * <p>
+ * Когда между соседями не остается свободного значения, все колонки проекта перенумеровываются
+ * так же, как при перестановке всей доски ({@link #reorder}), после чего вычисление повторяется.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+@Component
+public class TaskStateOrdering {
+
+    public static final long GAP = 1024;
+
+    TaskStateRepository taskStateRepository;
+
+    public long nextAppendOrdinal(Long projectId) {
+        return taskStateRepository
+                .findMaxOrdinalByProjectId(projectId)
+                .map(maxOrdinal -> maxOrdinal + GAP)
+                .orElse(GAP);
+    }
+
+    /**
+     * Перемещает колонку сразу после указанной колонки или в начало доски, если левая колонка не задана.
+     *
+     * @param taskState             Перемещаемая колонка.
+     * @param optionalLeftTaskState Колонка, после которой должна оказаться перемещаемая.
+     */
+    public void moveAfter(TaskStateEntity taskState, Optional<TaskStateEntity> optionalLeftTaskState) {
+
+        Long projectId = taskState.getProject().getId();
+
+        long leftOrdinal = optionalLeftTaskState
+                .map(TaskStateEntity::getOrdinal)
+                .orElse(0L);
+
+        Optional<TaskStateEntity> optionalRightTaskState = taskStateRepository
+                .findFirstByProjectIdAndOrdinalGreaterThanAndIdNotOrderByOrdinalAsc(
+                        projectId, leftOrdinal, taskState.getId()
+                );
+
+        if (optionalRightTaskState.isEmpty()) {
+            taskState.setOrdinal(leftOrdinal + GAP);
+            return;
+        }
+
+        long rightOrdinal = optionalRightTaskState.get().getOrdinal();
+
+        if (rightOrdinal - leftOrdinal < 2) {
+            reorder(taskStateRepository.findAllByProjectIdOrderByOrdinalAsc(projectId));
+            moveAfter(taskState, optionalLeftTaskState);
+            return;
+        }
+
+        taskState.setOrdinal(leftOrdinal + (rightOrdinal - leftOrdinal) / 2);
+    }
+
+    /**
+     * Расставляет колонки проекта в указанном порядке: i-я колонка получает ordinal (i + 1) * GAP.
+     * Изменяются только колонки, чей ordinal отличается от нового, и все изменения записываются
+     * при сбросе контекста одним пакетом UPDATE-запросов, поэтому перестановка всей доски стоит
+     * одного обращения к базе данных независимо от числа перемещенных колонок.
+     *
+     * @param orderedTaskStates Все колонки проекта в новом порядке.
+     */
+    public void reorder(List<TaskStateEntity> orderedTaskStates) {
+
+        for (int i = 0; i < orderedTaskStates.size(); i++) {
+
+            long ordinal = (i + 1) * GAP;
+            TaskStateEntity taskState = orderedTaskStates.get(i);
+
+            if (taskState.getOrdinal() != ordinal) {
+                taskState.setOrdinal(ordinal);
+            }
+        }
+    }
+
+    public Optional<Long> findLeftTaskStateId(TaskStateEntity taskState) {
+        return taskStateRepository
+                .findFirstByProjectIdAndOrdinalLessThanOrderByOrdinalDesc(
+                        taskState.getProject().getId(), taskState.getOrdinal()
+                )
+                .map(TaskStateEntity::getId);
+    }
+
+    public Optional<Long> findRightTaskStateId(TaskStateEntity taskState) {
+        return taskStateRepository
+                .findFirstByProjectIdAndOrdinalGreaterThanOrderByOrdinalAsc(
+                        taskState.getProject().getId(), taskState.getOrdinal()
+                )
+                .map(TaskStateEntity::getId);
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.example.task.tracker.store.repositories;
+
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import org.example.task.tracker.store.entities.OutboxEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Возвращает события, упорядоченные по проекту и порядковому номеру события в проекте, с блокировкой
+     * строк до конца транзакции. Ретрансляторы на разных узлах не пропускают заблокированные строки,
+     * а ждут их, поэтому порядок доставки событий каждого проекта сохраняется.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OutboxEventEntity e order by e.projectId, e.projectSequence nulls last, e.id")
+    List<OutboxEventEntity> findAllInProjectOrder(Pageable pageable);
+
+}
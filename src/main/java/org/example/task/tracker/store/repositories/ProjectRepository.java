@@ -1,16 +1,84 @@
 package org.example.task.tracker.store.repositories;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 import org.example.task.tracker.store.entities.ProjectEntity;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+/**
+ * Поиск по префиксу имени выполняется по выражению lower(name) COLLATE "C", для которого в schema.sql
+ * создан функциональный индекс. Параметр namePattern должен быть построен методом
+ * {@link #makeNamePrefixPattern(String)}.
+ */
 public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
+
+    String NAME_PREFIX_CONDITION = "lower(name) COLLATE \"C\" LIKE lower(:namePattern) ESCAPE '\\' ";
+
+    static String makeNamePrefixPattern(String prefixName) {
+        return prefixName
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_")
+                + "%";
+    }
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<ProjectEntity> findByName(String name);
 
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<ProjectEntity> findWithLockById(Long id);
+
+    /**
+     * Возвращает версию изменений проекта (увеличивается при любом изменении проекта, его колонок
+     * и задач) и время последнего изменения, не загружая сам проект и его доску.
+     */
+    @Query("select p.version as version, p.updatedAt as updatedAt from ProjectEntity p where p.id = :projectId")
+    Optional<ProjectChangeVersion> findChangeVersionById(@Param("projectId") Long projectId);
+
+    @Query("select p.id from ProjectEntity p where p.deleting = true")
+    List<Long> findAllIdsByDeletingTrue();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ProjectEntity p where p.id = :projectId")
+    int deleteProjectById(@Param("projectId") Long projectId);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
     Stream<ProjectEntity> streamAllBy();
 
-    Stream<ProjectEntity> streamAllByNameStartsWithIgnoreCase(String prefixName);
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT * FROM project WHERE " + NAME_PREFIX_CONDITION, nativeQuery = true)
+    Stream<ProjectEntity> streamAllByNamePrefix(@Param("namePattern") String namePattern);
+
+    List<ProjectEntity> findAllByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Query(value = "SELECT * FROM project WHERE " + NAME_PREFIX_CONDITION
+            + "AND id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<ProjectEntity> findAllByNamePrefixAndIdGreaterThan(
+            @Param("namePattern") String namePattern,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM project WHERE " + NAME_PREFIX_CONDITION
+            + "ORDER BY lower(name) COLLATE \"C\" LIMIT :limit", nativeQuery = true)
+    List<ProjectEntity> findTopByNamePrefix(@Param("namePattern") String namePattern, @Param("limit") int limit);
+
+    interface ProjectChangeVersion {
+
+        Long getVersion();
+
+        Instant getUpdatedAt();
 
+    }
 
 }
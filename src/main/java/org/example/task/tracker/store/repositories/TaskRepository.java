@@ -1,7 +1,75 @@
 package org.example.task.tracker.store.repositories;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
 import org.example.task.tracker.store.entities.TaskEntity;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
+
+    String TASK_SEARCH_VECTOR = "to_tsvector('simple', t.name || ' ' || coalesce(t.description, ''))";
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<TaskEntity> streamAllByTaskStateIdOrderByIdAsc(Long taskStateId);
+
+    List<TaskEntity> findAllByTaskStateIdAndIdGreaterThanOrderByIdAsc(
+            Long taskStateId, Long afterId, Pageable pageable);
+
+    /**
+     * Возвращает первые limit задач каждой колонки проекта, упорядоченные по колонке и id. Запрос имеет
+     * постоянный вид и два параметра при любом количестве колонок, поэтому один план и одно подготовленное
+     * выражение используются для всех досок; оконная функция выполняется и в PostgreSQL, и в H2.
+     * Задачи колонок читаются по индексу (task_state_id, id), а лишние отбрасываются условием на номер строки.
+     */
+    @Query(value = "SELECT * FROM ("
+            + "SELECT t.*, row_number() OVER (PARTITION BY t.task_state_id ORDER BY t.id) AS rn "
+            + "FROM task t JOIN task_state ts ON ts.id = t.task_state_id "
+            + "WHERE ts.project_id = :projectId"
+            + ") x WHERE x.rn <= :limit "
+            + "ORDER BY x.task_state_id, x.id", nativeQuery = true)
+    List<TaskEntity> findFirstPageOfEachTaskStateByProjectId(
+            @Param("projectId") Long projectId,
+            @Param("limit") int limit);
+
+    @Query("select t.id from TaskEntity t where t.taskState.id = :taskStateId order by t.id")
+    List<Long> findIdsByTaskStateId(@Param("taskStateId") Long taskStateId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from TaskEntity t where t.id in :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
+
+    /**
+     * Удаляет все задачи проекта одним запросом, не загружая их в контекст персистентности.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TaskEntity t "
+            + "where t.taskState.id in (select ts.id from TaskStateEntity ts where ts.project.id = :projectId)")
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Полнотекстовый поиск задач проекта по названию и описанию. Результаты упорядочены по релевантности
+     * (ts_rank), при равной релевантности - по идентификатору. Условие поиска повторяет выражение индекса
+     * task_search_idx из schema.sql, поэтому задачи отбираются по GIN-индексу, а ранжируются только найденные.
+     * Индекс обновляется самой базой данных при каждой записи задачи.
+     */
+    @Query(value = "SELECT t.* FROM task t "
+            + "JOIN task_state ts ON ts.id = t.task_state_id "
+            + "WHERE ts.project_id = :projectId "
+            + "AND " + TASK_SEARCH_VECTOR + " @@ websearch_to_tsquery('simple', :query) "
+            + "ORDER BY ts_rank(" + TASK_SEARCH_VECTOR + ", websearch_to_tsquery('simple', :query)) DESC, t.id "
+            + "LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<TaskEntity> searchByProjectId(
+            @Param("projectId") Long projectId,
+            @Param("query") String query,
+            @Param("offset") int offset,
+            @Param("limit") int limit);
+
 }
@@ -1,12 +1,64 @@
 package org.example.task.tracker.store.repositories;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.example.task.tracker.store.entities.TaskStateEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface TaskStateRepository extends JpaRepository<TaskStateEntity, Long> {
 
-    Optional<TaskStateEntity> findTaskStateEntityByProjectIdAndNameContainsIgnoreCase(Long projectId, String taskStateName);
+    Optional<TaskStateEntity> findByProjectIdAndNormalizedName(Long projectId, String normalizedName);
 
+    boolean existsByProjectIdAndNormalizedName(Long projectId, String normalizedName);
+
+    List<TaskStateEntity> findAllByProjectIdOrderByOrdinalAsc(Long projectId);
+
+    @Query("select ts.id from TaskStateEntity ts where ts.project.id = :projectId")
+    List<Long> findAllIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("select max(ts.ordinal) from TaskStateEntity ts where ts.project.id = :projectId")
+    Optional<Long> findMaxOrdinalByProjectId(@Param("projectId") Long projectId);
+
+    Optional<TaskStateEntity> findFirstByProjectIdAndOrdinalLessThanOrderByOrdinalDesc(Long projectId, Long ordinal);
+
+    Optional<TaskStateEntity> findFirstByProjectIdAndOrdinalGreaterThanOrderByOrdinalAsc(Long projectId, Long ordinal);
+
+    Optional<TaskStateEntity> findFirstByProjectIdAndOrdinalGreaterThanAndIdNotOrderByOrdinalAsc(
+            Long projectId, Long ordinal, Long excludedId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TaskStateEntity ts where ts.project.id = :projectId")
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Атомарно увеличивает счетчик задач колонки на tasksCount и продвигает время создания самой новой задачи.
+     * Обновление выполняется одним запросом без проверки версии, поэтому параллельные импорты и изменения
+     * колонки не конфликтуют друг с другом.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update TaskStateEntity ts set ts.tasksCount = ts.tasksCount + :tasksCount, "
+            + "ts.lastTaskCreatedAt = greatest(coalesce(ts.lastTaskCreatedAt, :lastTaskCreatedAt), :lastTaskCreatedAt) "
+            + "where ts.id = :taskStateId")
+    void addTasks(
+            @Param("taskStateId") Long taskStateId,
+            @Param("tasksCount") long tasksCount,
+            @Param("lastTaskCreatedAt") Instant lastTaskCreatedAt);
+
+    /**
+     * Атомарно уменьшает счетчик задач колонки на tasksCount и пересчитывает время создания самой новой
+     * из оставшихся задач колонки. Вызывается после удаления или переноса задач из колонки.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update TaskStateEntity ts set ts.tasksCount = ts.tasksCount - :tasksCount, "
+            + "ts.lastTaskCreatedAt = (select max(t.createdAt) from TaskEntity t where t.taskState.id = ts.id) "
+            + "where ts.id = :taskStateId")
+    void removeTasks(@Param("taskStateId") Long taskStateId, @Param("tasksCount") long tasksCount);
+
+    @Query("select max(ts.lastTaskCreatedAt) from TaskStateEntity ts where ts.project.id = :projectId")
+    Instant findLastTaskCreatedAtByProjectId(@Param("projectId") Long projectId);
 
 }
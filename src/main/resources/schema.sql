@@ -0,0 +1,34 @@
+UPDATE project
+SET version = 0
+WHERE version IS NULL;
+
+UPDATE task_state
+SET version = 0
+WHERE version IS NULL;
+
+UPDATE project
+SET deleting = false
+WHERE deleting IS NULL;
+
+UPDATE project
+SET outbox_sequence = 0
+WHERE outbox_sequence IS NULL;
+
+UPDATE task_state ts
+SET tasks_count          = (SELECT count(*) FROM task t WHERE t.task_state_id = ts.id),
+    last_task_created_at = (SELECT max(t.created_at) FROM task t WHERE t.task_state_id = ts.id)
+WHERE tasks_count IS NULL;
+
+UPDATE project p
+SET tasks_count          = (SELECT coalesce(sum(ts.tasks_count), 0) FROM task_state ts WHERE ts.project_id = p.id),
+    last_task_created_at = (SELECT max(ts.last_task_created_at) FROM task_state ts WHERE ts.project_id = p.id)
+WHERE tasks_count IS NULL;
+
+UPDATE task_state
+SET normalized_name = lower(name)
+WHERE normalized_name IS NULL;
+
+CREATE INDEX IF NOT EXISTS project_lower_name_prefix_idx ON project ((lower(name) COLLATE "C"));
+
+CREATE INDEX IF NOT EXISTS task_search_idx ON task
+    USING gin (to_tsvector('simple', name || ' ' || coalesce(description, '')));
@@ -0,0 +1,91 @@
+package org.example.task.tracker.api.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.example.task.tracker.api.dto.ImportTaskDto;
+import org.example.task.tracker.services.ProjectService;
+import org.example.task.tracker.services.TaskService;
+import org.example.task.tracker.services.TaskStateService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"local", "test"})
+class TaskStateControllerTest {
+
+    private static final int COLUMNS = 10;
+
+    private static final int TASKS_PER_COLUMN = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskStateService taskStateService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void boardIsLoadedWithConstantNumberOfStatements() throws Exception {
+
+        Long smallBoardId = createBoard("small-board", 1, 0);
+        Long largeBoardId = createBoard("large-board", COLUMNS, TASKS_PER_COLUMN);
+
+        long smallBoardStatements = countBoardStatements(smallBoardId, 1);
+        long largeBoardStatements = countBoardStatements(largeBoardId, COLUMNS);
+
+        assertEquals(smallBoardStatements, largeBoardStatements);
+    }
+
+    private Long createBoard(String projectName, int columns, int tasksPerColumn) {
+
+        Long projectId = projectService.createProject(projectName).getId();
+
+        List<ImportTaskDto> tasks = new ArrayList<>();
+        for (int column = 0; column < columns; column++) {
+            Long taskStateId = taskStateService.createTaskState(projectId, "column-" + column).getId();
+            for (int task = 0; task < tasksPerColumn; task++) {
+                tasks.add(ImportTaskDto.builder().taskStateId(taskStateId).name("task-" + task).build());
+            }
+        }
+
+        if (!tasks.isEmpty()) {
+            taskService.importTasks(projectId, tasks);
+        }
+
+        return projectId;
+    }
+
+    private long countBoardStatements(Long projectId, int columns) throws Exception {
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(TaskStateController.GET_TASK_STATES, projectId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(columns));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+}
@@ -0,0 +1,146 @@
+package org.example.task.tracker.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import org.example.task.tracker.api.dto.ImportTaskDto;
+import org.example.task.tracker.api.dto.TaskDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+class TaskCountersTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskStateService taskStateService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long projectId;
+
+    private Long todoId;
+
+    private Long doneId;
+
+    @BeforeEach
+    void setUp() {
+        projectId = projectService.createProject("counters-" + System.nanoTime()).getId();
+        todoId = taskStateService.createTaskState(projectId, "todo").getId();
+        doneId = taskStateService.createTaskState(projectId, "done").getId();
+    }
+
+    @Test
+    void countersMatchTasksAfterCreate() {
+
+        taskService.createTask(todoId, "first", Optional.empty());
+        taskService.createTask(todoId, "second", Optional.of("description"));
+        taskService.createTask(doneId, "third", Optional.empty());
+
+        assertCountersMatchTasks();
+    }
+
+    @Test
+    void countersMatchTasksAfterMove() {
+
+        taskService.createTask(todoId, "first", Optional.empty());
+        TaskDto newest = taskService.createTask(todoId, "second", Optional.empty());
+
+        taskService.moveTask(newest.getId(), doneId);
+        assertCountersMatchTasks();
+
+        taskService.moveTask(newest.getId(), doneId);
+        assertCountersMatchTasks();
+
+        taskService.moveTask(newest.getId(), todoId);
+        assertCountersMatchTasks();
+    }
+
+    @Test
+    void countersMatchTasksAfterImport() {
+
+        taskService.createTask(doneId, "existing", Optional.empty());
+
+        taskService.importTasks(projectId, List.of(
+                ImportTaskDto.builder().taskStateId(todoId).name("first").build(),
+                ImportTaskDto.builder().taskStateId(todoId).name("second").build(),
+                ImportTaskDto.builder().taskStateId(doneId).name("third").build()
+        ));
+
+        assertCountersMatchTasks();
+    }
+
+    @Test
+    void countersMatchTasksAfterDelete() {
+
+        TaskDto oldest = taskService.createTask(todoId, "first", Optional.empty());
+        TaskDto newest = taskService.createTask(todoId, "second", Optional.empty());
+        TaskDto other = taskService.createTask(doneId, "third", Optional.empty());
+
+        taskService.deleteTask(newest.getId());
+        assertCountersMatchTasks();
+
+        taskService.deleteTask(other.getId());
+        assertCountersMatchTasks();
+
+        taskService.deleteTask(oldest.getId());
+        assertCountersMatchTasks();
+    }
+
+    private void assertCountersMatchTasks() {
+
+        for (Long taskStateId : List.of(todoId, doneId)) {
+            assertEquals(
+                    jdbcTemplate.queryForObject(
+                            "SELECT count(*) FROM task WHERE task_state_id = ?", Long.class, taskStateId
+                    ),
+                    jdbcTemplate.queryForObject(
+                            "SELECT tasks_count FROM task_state WHERE id = ?", Long.class, taskStateId
+                    ),
+                    "tasks_count of task state " + taskStateId
+            );
+            assertEquals(
+                    jdbcTemplate.queryForObject(
+                            "SELECT max(created_at) FROM task WHERE task_state_id = ?", Timestamp.class, taskStateId
+                    ),
+                    jdbcTemplate.queryForObject(
+                            "SELECT last_task_created_at FROM task_state WHERE id = ?", Timestamp.class, taskStateId
+                    ),
+                    "last_task_created_at of task state " + taskStateId
+            );
+        }
+
+        assertEquals(
+                jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM task t JOIN task_state ts ON ts.id = t.task_state_id "
+                                + "WHERE ts.project_id = ?", Long.class, projectId
+                ),
+                jdbcTemplate.queryForObject("SELECT tasks_count FROM project WHERE id = ?", Long.class, projectId),
+                "tasks_count of project"
+        );
+        assertEquals(
+                jdbcTemplate.queryForObject(
+                        "SELECT max(t.created_at) FROM task t JOIN task_state ts ON ts.id = t.task_state_id "
+                                + "WHERE ts.project_id = ?", Timestamp.class, projectId
+                ),
+                jdbcTemplate.queryForObject(
+                        "SELECT last_task_created_at FROM project WHERE id = ?", Timestamp.class, projectId
+                ),
+                "last_task_created_at of project"
+        );
+    }
+
+}
@@ -0,0 +1,212 @@
+package org.example.task.tracker.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.example.task.tracker.exceptions.BadRequestExceptions;
+import org.example.task.tracker.store.entities.TaskStateEntity;
+import org.example.task.tracker.store.repositories.TaskStateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Несколько потоков одновременно изменяют одну доску: добавляют колонки с уникальными и совпадающими
+ * именами, переименовывают колонку, перемещают колонки и переставляют всю доску. Число попыток повтора
+ * увеличено, чтобы исчерпание повторов оставалось редким исходом, а не нормой.
+ */
+@SpringBootTest(properties = "task-tracker.retry.max-attempts=" + TaskStateServiceConcurrencyTest.MAX_ATTEMPTS)
+@ActiveProfiles({"local", "test"})
+class TaskStateServiceConcurrencyTest {
+
+    static final int MAX_ATTEMPTS = 20;
+
+    private static final int THREADS = 8;
+
+    private static final int OPERATIONS_PER_THREAD = 30;
+
+    /**
+     * Допустимая доля изменений, отклоненных после всех повторов: не более 5% всех изменений.
+     */
+    private static final int EXHAUSTED_RETRIES_LIMIT = THREADS * OPERATIONS_PER_THREAD / 20;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskStateService taskStateService;
+
+    @Autowired
+    private TaskStateRepository taskStateRepository;
+
+    private final AtomicInteger succeeded = new AtomicInteger();
+
+    private final AtomicInteger exhaustedRetries = new AtomicInteger();
+
+    @Test
+    void concurrentChangesKeepOrdinalsAndNamesUnique() throws Exception {
+
+        Long projectId = projectService.createProject("concurrent-" + System.nanoTime()).getId();
+        Long renamedTaskStateId = taskStateService.createTaskState(projectId, "renamed").getId();
+        Long movedTaskStateId = taskStateService.createTaskState(projectId, "moved").getId();
+        Long anchorTaskStateId = taskStateService.createTaskState(projectId, "anchor").getId();
+
+        Set<String> createdNames = ConcurrentHashMap.newKeySet();
+        Set<String> exhaustedNames = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                int threadNumber = thread;
+                for (int operation = 0; operation < OPERATIONS_PER_THREAD; operation++) {
+                    int operationNumber = operation;
+                    futures.add(executor.submit(() -> {
+                        switch (operationNumber % 5) {
+                            case 0 -> {
+                                String name = "column-" + threadNumber + "-" + operationNumber;
+                                if (countingOutcome(() -> taskStateService.createTaskState(projectId, name))) {
+                                    createdNames.add(name);
+                                } else {
+                                    exhaustedNames.add(name);
+                                }
+                            }
+                            case 1 -> ignoringRejectedNames(() -> countingOutcome(() ->
+                                    taskStateService.createTaskState(projectId, "Shared-" + operationNumber % 5)
+                            ));
+                            case 2 -> ignoringRejectedNames(() -> countingOutcome(() ->
+                                    taskStateService.updateTaskState(
+                                            renamedTaskStateId, "shared-" + (operationNumber + threadNumber) % 5
+                                    )
+                            ));
+                            case 3 -> countingOutcome(() -> taskStateService.changeTaskStatePosition(
+                                    movedTaskStateId,
+                                    threadNumber % 2 == 0 ? Optional.of(anchorTaskStateId) : Optional.empty()
+                            ));
+                            default -> ignoringStaleOrder(() -> countingOutcome(() ->
+                                    taskStateService.reorderTaskStates(projectId, reversedTaskStateIds(projectId))
+                            ));
+                        }
+                        return null;
+                    }));
+                }
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<TaskStateEntity> taskStates = taskStateRepository.findAllByProjectIdOrderByOrdinalAsc(projectId);
+
+        Set<Long> ordinals = new HashSet<>();
+        Set<String> normalizedNames = new HashSet<>();
+
+        for (TaskStateEntity taskState : taskStates) {
+            assertTrue(ordinals.add(taskState.getOrdinal()), "Duplicate ordinal " + taskState.getOrdinal());
+            assertTrue(
+                    normalizedNames.add(taskState.getNormalizedName()),
+                    "Duplicate task state name " + taskState.getName()
+            );
+        }
+
+        Set<String> boardColumnNames = taskStates.stream()
+                .map(TaskStateEntity::getName)
+                .filter(name -> name.startsWith("column-"))
+                .collect(Collectors.toSet());
+
+        assertEquals(createdNames, boardColumnNames, "Unique column creates missing from the board");
+        assertEquals(
+                THREADS * ((OPERATIONS_PER_THREAD + 4) / 5),
+                createdNames.size() + exhaustedNames.size(),
+                "Unique column creates were rejected"
+        );
+        assertTrue(succeeded.get() > 0, "No change succeeded");
+        assertTrue(
+                exhaustedRetries.get() <= EXHAUSTED_RETRIES_LIMIT,
+                exhaustedRetries.get() + " changes exhausted their retries, limit " + EXHAUSTED_RETRIES_LIMIT
+        );
+    }
+
+    private List<Long> reversedTaskStateIds(Long projectId) {
+
+        List<Long> taskStateIds = taskStateRepository
+                .findAllByProjectIdOrderByOrdinalAsc(projectId)
+                .stream()
+                .map(TaskStateEntity::getId)
+                .collect(Collectors.toList());
+
+        Collections.reverse(taskStateIds);
+
+        return taskStateIds;
+    }
+
+    /**
+     * Выполняет изменение и подсчитывает его исход.
+     *
+     * @return false, если изменение отклонено после всех повторов.
+     */
+    private boolean countingOutcome(Callable<?> change) throws Exception {
+        try {
+            change.call();
+            succeeded.incrementAndGet();
+            return true;
+        } catch (ConcurrencyFailureException e) {
+            exhaustedRetries.incrementAndGet();
+            return false;
+        }
+    }
+
+    /**
+     * Совпадающее имя отклоняется проверкой имени или, если две транзакции прошли проверку одновременно,
+     * ограничением уникальности; любое другое исключение проваливает тест.
+     */
+    private static void ignoringRejectedNames(Callable<?> change) throws Exception {
+        try {
+            change.call();
+        } catch (BadRequestExceptions e) {
+            assertTrue(e.getMessage().contains("already exist"), "Unexpected rejection: " + e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            assertTrue(
+                    String.valueOf(e.getMessage()).toLowerCase(Locale.ROOT)
+                            .contains(TaskStateEntity.NORMALIZED_NAME_CONSTRAINT),
+                    "Unexpected constraint violation: " + e.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Перестановка отклоняется, если между чтением колонок и перестановкой на доску добавили колонку.
+     */
+    private static void ignoringStaleOrder(Callable<?> change) throws Exception {
+        try {
+            change.call();
+        } catch (BadRequestExceptions e) {
+            assertTrue(
+                    e.getMessage().startsWith("Task states order must contain all"),
+                    "Unexpected rejection: " + e.getMessage()
+            );
+        }
+    }
+
+}
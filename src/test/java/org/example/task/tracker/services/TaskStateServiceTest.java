@@ -0,0 +1,64 @@
+package org.example.task.tracker.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.example.task.tracker.store.entities.TaskStateEntity;
+import org.example.task.tracker.store.repositories.TaskStateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+class TaskStateServiceTest {
+
+    /**
+     * Каждое перемещение в один и тот же промежуток делит его пополам, поэтому промежуток GAP
+     * заканчивается примерно через log2(GAP) перемещений; 40 перемещений перенумеровывают доску несколько раз.
+     */
+    private static final int MOVES = 40;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskStateService taskStateService;
+
+    @Autowired
+    private TaskStateRepository taskStateRepository;
+
+    @Test
+    void repeatedMovesIntoOneSlotRebalanceOrdinalsAndKeepOrder() {
+
+        Long projectId = projectService.createProject("ordering-" + System.nanoTime()).getId();
+
+        Long firstId = taskStateService.createTaskState(projectId, "first").getId();
+        Long lastId = taskStateService.createTaskState(projectId, "last").getId();
+        Long evenId = taskStateService.createTaskState(projectId, "even").getId();
+        Long oddId = taskStateService.createTaskState(projectId, "odd").getId();
+
+        Long initialLastOrdinal = taskStateRepository.findById(lastId).orElseThrow().getOrdinal();
+
+        for (int move = 0; move < MOVES; move++) {
+            taskStateService.changeTaskStatePosition(move % 2 == 0 ? evenId : oddId, Optional.of(firstId));
+        }
+
+        List<TaskStateEntity> taskStates = taskStateRepository.findAllByProjectIdOrderByOrdinalAsc(projectId);
+
+        assertEquals(
+                List.of(firstId, oddId, evenId, lastId),
+                taskStates.stream().map(TaskStateEntity::getId).collect(Collectors.toList())
+        );
+        assertNotEquals(initialLastOrdinal, taskStates.get(3).getOrdinal(), "Ordinals were never rebalanced");
+        assertEquals(
+                taskStates.size(),
+                taskStates.stream().map(TaskStateEntity::getOrdinal).distinct().count()
+        );
+    }
+
+}